@@ -14,8 +14,13 @@ import com.hrznstudio.titanium._impl.test.TestBlock;
 import com.hrznstudio.titanium._impl.test.TwentyFourTestBlock;
 import com.hrznstudio.titanium._impl.test.recipe.TestSerializableRecipe;
 import com.hrznstudio.titanium.annotation.plugin.FeaturePlugin;
+import com.hrznstudio.titanium.api.IItemStackQuery;
+import com.hrznstudio.titanium.block.tile.TileSleepManager;
+import com.hrznstudio.titanium.block.tile.TileUpdateScheduler;
 import com.hrznstudio.titanium.capability.CapabilityItemStackHolder;
 import com.hrznstudio.titanium.client.screen.container.BasicAddonScreen;
+import com.hrznstudio.titanium.component.energy.EnergyNetworkManager;
+import com.hrznstudio.titanium.command.ProfileCommand;
 import com.hrznstudio.titanium.command.RewardCommand;
 import com.hrznstudio.titanium.command.RewardGrantCommand;
 import com.hrznstudio.titanium.container.BasicAddonContainer;
@@ -39,6 +44,7 @@ import com.hrznstudio.titanium.reward.Reward;
 import com.hrznstudio.titanium.reward.RewardManager;
 import com.hrznstudio.titanium.reward.RewardSyncMessage;
 import com.hrznstudio.titanium.reward.storage.RewardWorldStorage;
+import com.hrznstudio.titanium.util.RecipeIndex;
 import com.hrznstudio.titanium.util.SidedHandler;
 import net.minecraft.block.Block;
 import net.minecraft.client.gui.ScreenManager;
@@ -55,19 +61,22 @@ import net.minecraft.world.World;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.DrawHighlightEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.common.extensions.IForgeContainerType;
 import net.minecraftforge.common.util.NonNullLazy;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.GatherDataEvent;
 import net.minecraftforge.fml.event.server.FMLServerStartingEvent;
-import net.minecraftforge.fml.network.NetworkDirection;
 import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.logging.log4j.LogManager;
@@ -95,6 +104,16 @@ public class Titanium extends ModuleController {
         EventManager.mod(FMLCommonSetupEvent.class).process(this::commonSetup).subscribe();
         EventManager.forge(PlayerEvent.PlayerLoggedInEvent.class).process(this::onPlayerLoggedIn).subscribe();
         EventManager.forge(FMLServerStartingEvent.class).process(this::onServerStart).subscribe();
+        EventManager.forge(TickEvent.WorldTickEvent.class).process(TileUpdateScheduler::onWorldTick).subscribe();
+        EventManager.forge(WorldEvent.Unload.class).process(TileUpdateScheduler::onWorldUnload).subscribe();
+        EventManager.forge(TickEvent.WorldTickEvent.class).process(TileSleepManager::onWorldTick).subscribe();
+        EventManager.forge(WorldEvent.Unload.class).process(TileSleepManager::onWorldUnload).subscribe();
+        EventManager.forge(TagsUpdatedEvent.class).process(event -> {
+            IItemStackQuery.IngredientQuery.invalidateAll();
+            RecipeIndex.invalidateAll();
+        }).subscribe();
+        EventManager.forge(TickEvent.WorldTickEvent.class).process(EnergyNetworkManager::onWorldTick).subscribe();
+        EventManager.forge(WorldEvent.Unload.class).process(EnergyNetworkManager::onWorldUnload).subscribe();
         CraftingHelper.register(new ContentExistsConditionSerializer());
     }
 
@@ -191,6 +210,7 @@ public class Titanium extends ModuleController {
     @OnlyIn(Dist.CLIENT)
     private void clientSetup(FMLClientSetupEvent event) {
         EventManager.forge(DrawHighlightEvent.HighlightBlock.class).process(TitaniumClient::blockOverlayEvent).subscribe();
+        EventManager.forge(RecipesUpdatedEvent.class).process(event -> RecipeIndex.invalidateAll()).subscribe();
         TitaniumClient.registerModelLoader();
         RewardManager.get().getRewards().values().forEach(rewardGiver -> rewardGiver.getRewards().forEach(reward -> reward.register(Dist.CLIENT)));
         ScreenManager.registerFactory(BasicAddonContainer.TYPE, BasicAddonScreen::new);
@@ -208,12 +228,13 @@ public class Titanium extends ModuleController {
                 storage.markDirty();
             }
             CompoundNBT nbt = storage.serializeSimple();
-            event.getPlayer().getServer().getPlayerList().getPlayers().forEach(serverPlayerEntity -> Titanium.NETWORK.get().sendTo(new RewardSyncMessage(nbt), serverPlayerEntity.connection.netManager, NetworkDirection.PLAY_TO_CLIENT));
+            event.getPlayer().getServer().getPlayerList().getPlayers().forEach(serverPlayerEntity -> Titanium.NETWORK.sendBundled(serverPlayerEntity, new RewardSyncMessage(nbt)));
         });
     }
 
     private void onServerStart(FMLServerStartingEvent event) {
         RewardCommand.register(event.getServer().getCommandManager().getDispatcher());
         RewardGrantCommand.register(event.getServer().getCommandManager().getDispatcher());
+        ProfileCommand.register(event.getServer().getCommandManager().getDispatcher());
     }
 }
@@ -0,0 +1,30 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium._impl;
+
+import com.hrznstudio.titanium.annotation.config.ConfigFile;
+import com.hrznstudio.titanium.annotation.config.ConfigVal;
+
+@ConfigFile(value = "titanium-performance")
+public class PerformanceConfig {
+
+    @ConfigVal(comment = "Minimum amount of ticks between two client updates of the same tile, changes in between are sent together")
+    @ConfigVal.InRangeInt(min = 1, max = 200)
+    public static int TILE_UPDATE_INTERVAL = 1;
+
+    @ConfigVal(comment = "Maximum amount of ticks an idle machine that supports sleeping stops ticking for before checking again")
+    @ConfigVal.InRangeInt(min = 1, max = 1200)
+    public static int TILE_SLEEP_INTERVAL = 20;
+
+    @ConfigVal(comment = "Groups connected powered tiles into networks that share their energy once per tick instead of every generator pushing to its neighbours, applies to tiles loaded after it is enabled")
+    public static boolean ENERGY_NETWORKS = false;
+
+    @ConfigVal(comment = "Measures the time spent by Titanium tiles and components and the bytes sent by Titanium messages, see /titanium profile")
+    public static boolean PROFILER = false;
+
+}
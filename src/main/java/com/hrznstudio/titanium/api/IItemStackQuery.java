@@ -14,6 +14,12 @@ import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.nbt.CompoundNBT;
 import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -42,8 +48,24 @@ public interface IItemStackQuery extends Predicate<ItemStack> {
         return matches(stack);
     }
 
+    /**
+     * Combines the queries into one that matches if any of them does, item and plain ingredient queries are merged into a single item lookup
+     *
+     * @param queries The queries to combine
+     * @return the combined query
+     */
+    static IItemStackQuery anyOf(IItemStackQuery... queries) {
+        if (queries.length == 1) return queries[0];
+        return new AnyOfQuery(queries);
+    }
+
     default BiPredicate<ItemStack, Integer> toSlotFilter(int... slots) {
-        return toSlotFilter((slot) -> ArrayUtils.contains(slots, slot));
+        BitSet slotSet = new BitSet();
+        for (int slot : slots) {
+            if (slot < 0) return toSlotFilter((slot1) -> ArrayUtils.contains(slots, slot1));
+            slotSet.set(slot);
+        }
+        return toSlotFilter((slot) -> slot >= 0 && slotSet.get(slot));
     }
 
     default BiPredicate<ItemStack, Integer> toSlotFilter(Predicate<Integer> slotPredicate) {
@@ -109,18 +131,31 @@ public interface IItemStackQuery extends Predicate<ItemStack> {
 
         @Override
         public boolean matches(ItemStack itemStack) {
-            return itemStack.getItem().equals(this.item);
+            return itemStack.getItem() == this.item;
         }
     }
 
+    /**
+     * Queries an {@link Ingredient}, plain ingredients are resolved once into an item lookup that is refreshed when tags are reloaded
+     */
     class IngredientQuery implements IItemStackQueryRecipe {
 
+        private static volatile int tagGeneration = 0;
+
         protected Ingredient ingredient;
+        private CompiledIngredient compiled;
 
         public IngredientQuery(Ingredient ingredient) {
             this.ingredient = ingredient;
         }
 
+        /**
+         * Forces every ingredient query to resolve its items again, called when tags are reloaded
+         */
+        public static void invalidateAll() {
+            ++tagGeneration;
+        }
+
         @Override
         public ItemStack[] getMatchingStacks() {
             return ingredient.getMatchingStacks();
@@ -132,7 +167,94 @@ public interface IItemStackQuery extends Predicate<ItemStack> {
 
         @Override
         public boolean matches(ItemStack itemStack) {
-            return this.ingredient.test(itemStack);
+            // Custom ingredients can match on more than the item so only plain ones are compiled
+            if (itemStack == null || this.ingredient.getClass() != Ingredient.class) return this.ingredient.test(itemStack);
+            CompiledIngredient compiled = this.compiled;
+            if (compiled == null || compiled.generation != tagGeneration) {
+                compiled = new CompiledIngredient(tagGeneration, this.ingredient.getMatchingStacks());
+                this.compiled = compiled;
+            }
+            return compiled.items.isEmpty() ? itemStack.isEmpty() : compiled.items.contains(itemStack.getItem());
+        }
+
+        private static class CompiledIngredient {
+
+            private final int generation;
+            private final Set<Item> items;
+
+            private CompiledIngredient(int generation, ItemStack[] matchingStacks) {
+                this.generation = generation;
+                this.items = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (ItemStack matchingStack : matchingStacks) {
+                    this.items.add(matchingStack.getItem());
+                }
+            }
+        }
+    }
+
+    /**
+     * Matches if any of its queries does, see {@link #anyOf(IItemStackQuery...)}.
+     * The items of plain ingredient queries are merged with the item queries and resolved again when tags are reloaded.
+     */
+    class AnyOfQuery implements IItemStackQuery {
+
+        private final Set<Item> items;
+        private final Ingredient[] ingredients;
+        private final IItemStackQuery[] others;
+        private volatile MergedItems merged;
+
+        private AnyOfQuery(IItemStackQuery[] queries) {
+            this.items = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Ingredient> ingredients = new ArrayList<>();
+            List<IItemStackQuery> others = new ArrayList<>();
+            for (IItemStackQuery query : queries) {
+                if (query instanceof ItemQuery) {
+                    items.add(((ItemQuery) query).getItem());
+                } else if (query instanceof IngredientQuery && ((IngredientQuery) query).getIngredient().getClass() == Ingredient.class) {
+                    ingredients.add(((IngredientQuery) query).getIngredient());
+                } else {
+                    others.add(query);
+                }
+            }
+            this.ingredients = ingredients.toArray(new Ingredient[0]);
+            this.others = others.toArray(new IItemStackQuery[0]);
+        }
+
+        @Override
+        public boolean matches(ItemStack stack) {
+            MergedItems merged = this.merged;
+            if (merged == null || merged.generation != IngredientQuery.tagGeneration) {
+                merged = new MergedItems(IngredientQuery.tagGeneration, items, ingredients);
+                this.merged = merged;
+            }
+            if (merged.items.contains(stack.getItem()) || (merged.matchesEmpty && stack.isEmpty())) return true;
+            for (IItemStackQuery query : others) {
+                if (query.matches(stack)) return true;
+            }
+            return false;
+        }
+
+        private static class MergedItems {
+
+            private final int generation;
+            private final Set<Item> items;
+            private final boolean matchesEmpty;
+
+            private MergedItems(int generation, Set<Item> items, Ingredient[] ingredients) {
+                this.generation = generation;
+                this.items = Collections.newSetFromMap(new IdentityHashMap<>());
+                this.items.addAll(items);
+                boolean matchesEmpty = false;
+                for (Ingredient ingredient : ingredients) {
+                    ItemStack[] matchingStacks = ingredient.getMatchingStacks();
+                    // A plain ingredient without stacks only matches empty stacks, like IngredientQuery
+                    if (matchingStacks.length == 0) matchesEmpty = true;
+                    for (ItemStack matchingStack : matchingStacks) {
+                        this.items.add(matchingStack.getItem());
+                    }
+                }
+                this.matchesEmpty = matchesEmpty;
+            }
         }
     }
-}
\ No newline at end of file
+}
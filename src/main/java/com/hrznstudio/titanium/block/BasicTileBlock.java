@@ -23,6 +23,7 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.world.IBlockReader;
+import net.minecraft.world.IWorldReader;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
@@ -59,6 +60,11 @@ public abstract class BasicTileBlock<T extends BasicTile<T>> extends BasicBlock
         getTile(worldIn, pos).ifPresent(tile -> tile.onNeighborChanged(blockIn, fromPos));
     }
 
+    @Override
+    public void onNeighborChange(BlockState state, IWorldReader world, BlockPos pos, BlockPos neighbor) {
+        getTile(world, pos).ifPresent(tile -> tile.onNeighborTileChanged(neighbor));
+    }
+
 
     @Override
     @SuppressWarnings("deprecation")
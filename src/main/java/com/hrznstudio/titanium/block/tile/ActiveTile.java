@@ -7,6 +7,7 @@
 
 package com.hrznstudio.titanium.block.tile;
 
+import com.hrznstudio.titanium._impl.PerformanceConfig;
 import com.hrznstudio.titanium.api.IFactory;
 import com.hrznstudio.titanium.api.client.IScreenAddon;
 import com.hrznstudio.titanium.api.client.IScreenAddonProvider;
@@ -25,16 +26,20 @@ import com.hrznstudio.titanium.component.inventory.InventoryComponent;
 import com.hrznstudio.titanium.component.inventory.MultiInventoryComponent;
 import com.hrznstudio.titanium.component.progress.MultiProgressBarHandler;
 import com.hrznstudio.titanium.component.progress.ProgressBarComponent;
+import com.hrznstudio.titanium.component.sideness.FacingWorkBackoff;
 import com.hrznstudio.titanium.component.sideness.IFacingComponent;
 import com.hrznstudio.titanium.component.sideness.IFacingComponentHarness;
+import com.hrznstudio.titanium.component.sideness.NeighborCapabilityCache;
 import com.hrznstudio.titanium.container.BasicAddonContainer;
 import com.hrznstudio.titanium.container.addon.IContainerAddon;
 import com.hrznstudio.titanium.container.addon.IContainerAddonProvider;
 import com.hrznstudio.titanium.network.IButtonHandler;
 import com.hrznstudio.titanium.network.locator.LocatorFactory;
 import com.hrznstudio.titanium.network.locator.instance.TileEntityLocatorInstance;
+import com.hrznstudio.titanium.profiler.TileProfiler;
 import com.hrznstudio.titanium.util.FacingUtil;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.entity.player.ServerPlayerEntity;
@@ -78,6 +83,10 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
     private MultiTankComponent<T> multiTankComponent;
     private MultiButtonComponent multiButtonComponent;
     private MultiFilterComponent multiFilterComponent;
+    private Direction cachedFacing;
+    private final NeighborCapabilityCache neighborCapabilityCache;
+    private boolean sleeping;
+    private long wakeTime;
 
     private List<IFactory<? extends IScreenAddon>> guiAddons;
 
@@ -87,11 +96,13 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
         super(base);
         this.guiAddons = new ArrayList<>();
         this.containerAddons = new ArrayList<>();
+        this.neighborCapabilityCache = new NeighborCapabilityCache(this);
     }
 
     @Override
     @ParametersAreNonnullByDefault
     public ActionResultType onActivated(PlayerEntity player, Hand hand, Direction facing, double hitX, double hitY, double hitZ) {
+        wake();
         if (multiTankComponent != null && FluidUtil.interactWithFluidHandler(player, hand, multiTankComponent.getCapabilityForSide(null).orElse(new MultiTankComponent.MultiTankCapabilityHandler(new ArrayList<>())))) {
             return ActionResultType.SUCCESS;
         }
@@ -100,7 +111,16 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
 
     @Override
     public void onNeighborChanged(Block blockIn, BlockPos fromPos) {
+        neighborCapabilityCache.invalidate(fromPos);
+        wakeFacingComponents();
+        if (multiProgressBarHandler != null) multiProgressBarHandler.invalidateCanIncrease();
+        wake();
+    }
 
+    @Override
+    public void onNeighborTileChanged(BlockPos fromPos) {
+        wakeFacingComponents();
+        wake();
     }
 
     public void openGui(PlayerEntity player) {
@@ -180,6 +200,10 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
         return multiInventoryComponent;
     }
 
+    public NeighborCapabilityCache getNeighborCapabilityCache() {
+        return neighborCapabilityCache;
+    }
+
     /*
         Client
      */
@@ -221,12 +245,17 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
     @Override
     public void tick() {
         if (!world.isRemote) {
-            if (multiProgressBarHandler != null) multiProgressBarHandler.update();
+            long tickStart = TileProfiler.start();
+            if (multiProgressBarHandler != null) {
+                long start = TileProfiler.start();
+                multiProgressBarHandler.update();
+                TileProfiler.record(TileProfiler.Category.COMPONENT, getClass(), "progress_bars", start);
+            }
             if (world.getGameTime() % getFacingHandlerWorkTime() == 0) {
                 if (multiInventoryComponent != null) {
                     for (InventoryComponent<T> inventoryHandler : multiInventoryComponent.getInventoryHandlers()) {
                         if (inventoryHandler instanceof IFacingComponent) {
-                            if (((IFacingComponent) inventoryHandler).work(this.world, this.pos, this.getFacingDirection(), getFacingHandlerWorkAmount()))
+                            if (workFacingComponent((IFacingComponent) inventoryHandler))
                                 break;
                         }
                     }
@@ -234,12 +263,143 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
                 if (multiTankComponent != null) {
                     for (FluidTankComponent<T> tank : multiTankComponent.getTanks()) {
                         if (tank instanceof IFacingComponent) {
-                            if (((IFacingComponent) tank).work(this.world, this.pos, this.getFacingDirection(), getFacingHandlerWorkAmount()))
+                            if (workFacingComponent((IFacingComponent) tank))
                                 break;
                         }
                     }
                 }
             }
+            if (canAutoSleep() && isIdle()) sleep(PerformanceConfig.TILE_SLEEP_INTERVAL);
+            TileProfiler.record(TileProfiler.Category.TILE, getClass(), "", tickStart);
+        }
+    }
+
+    /**
+     * Defines if the tile goes to sleep by itself when {@link #isIdle()}, tiles that do work of their own in {@link #tick()} need to account for it in {@link #isIdle()}
+     *
+     * @return true if the tile can sleep when idle
+     */
+    protected boolean canAutoSleep() {
+        return false;
+    }
+
+    /**
+     * Gets if the components of the tile have nothing to do until something changes.
+     * Progress bars are idle when their failed canIncrease check is cached and facing components when their last work cycle failed.
+     *
+     * @return true if the tile is idle
+     */
+    public boolean isIdle() {
+        if (multiProgressBarHandler != null && !multiProgressBarHandler.isIdle()) return false;
+        if (multiInventoryComponent != null) {
+            for (InventoryComponent<T> inventoryHandler : multiInventoryComponent.getInventoryHandlers()) {
+                if (inventoryHandler instanceof IFacingComponent && !isFacingComponentIdle((IFacingComponent) inventoryHandler)) return false;
+            }
+        }
+        if (multiTankComponent != null) {
+            for (FluidTankComponent<T> tank : multiTankComponent.getTanks()) {
+                if (tank instanceof IFacingComponent && !isFacingComponentIdle((IFacingComponent) tank)) return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFacingComponentIdle(IFacingComponent component) {
+        return component.getWorkBackoff() != null && component.getWorkBackoff().isBackingOff();
+    }
+
+    /**
+     * Removes the tile from the ticking list of the world at the end of the tick until it is woken up.
+     * Neighbour changes, component changes, button clicks and interactions wake the tile.
+     *
+     * @param wakeDelay The amount of ticks after which the tile wakes by itself, negative to sleep until woken
+     */
+    public void sleep(int wakeDelay) {
+        if (world == null || world.isRemote) return;
+        this.wakeTime = wakeDelay < 0 ? Long.MAX_VALUE : world.getGameTime() + wakeDelay;
+        this.sleeping = true;
+        TileSleepManager.sleep(this);
+    }
+
+    /**
+     * Adds the tile back to the ticking list of the world at the end of the tick if it is sleeping
+     */
+    public void wake() {
+        if (!sleeping) return;
+        this.sleeping = false;
+        if (multiProgressBarHandler != null) multiProgressBarHandler.resyncTicking();
+        TileSleepManager.wake(this);
+    }
+
+    /**
+     * The components of the active tiles are synced from their {@link com.hrznstudio.titanium.annotation.Save} fields, so only the changed ones are sent.
+     * Tiles that write extra client data in {@link #write(CompoundNBT)} or need a block re-render on every update should return false.
+     *
+     * @return true to send only the changed fields
+     */
+    @Override
+    protected boolean isDeltaSync() {
+        return true;
+    }
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    long getWakeTime() {
+        return wakeTime;
+    }
+
+    void onWake() {
+        this.sleeping = false;
+        if (multiProgressBarHandler != null) multiProgressBarHandler.resyncTicking();
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        this.sleeping = false;
+        TileSleepManager.forget(this);
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        this.sleeping = false;
+        TileSleepManager.forget(this);
+    }
+
+    /**
+     * Runs a work cycle of the facing component unless its {@link FacingWorkBackoff} says it should wait.
+     *
+     * @param component The facing component
+     * @return true if the component moved something
+     */
+    private boolean workFacingComponent(IFacingComponent component) {
+        FacingWorkBackoff backoff = component.getWorkBackoff();
+        if (backoff != null && !backoff.shouldWork()) return false;
+        long start = TileProfiler.start();
+        boolean worked = component.work(this.world, this.pos, this.getFacingDirection(), getFacingHandlerWorkAmount());
+        TileProfiler.record(TileProfiler.Category.COMPONENT, getClass(), component.getName(), start);
+        if (backoff != null) backoff.onWorkResult(worked);
+        return worked;
+    }
+
+    /**
+     * Makes all the facing components work on the next cycle
+     */
+    public void wakeFacingComponents() {
+        if (multiInventoryComponent != null) {
+            for (InventoryComponent<T> inventoryHandler : multiInventoryComponent.getInventoryHandlers()) {
+                if (inventoryHandler instanceof IFacingComponent && ((IFacingComponent) inventoryHandler).getWorkBackoff() != null)
+                    ((IFacingComponent) inventoryHandler).getWorkBackoff().wake();
+            }
+        }
+        if (multiTankComponent != null) {
+            for (FluidTankComponent<T> tank : multiTankComponent.getTanks()) {
+                if (tank instanceof IFacingComponent && ((IFacingComponent) tank).getWorkBackoff() != null)
+                    ((IFacingComponent) tank).getWorkBackoff().wake();
+            }
         }
     }
 
@@ -255,8 +415,25 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
         return multiButtonComponent;
     }
 
+    /**
+     * Gets the facing of the block, it is cached until the block state changes
+     *
+     * @return the facing of the block or NORTH if it can't rotate
+     */
     public Direction getFacingDirection() {
-        return this.world.getBlockState(pos).hasProperty(RotatableBlock.FACING_ALL) ? this.world.getBlockState(pos).get(RotatableBlock.FACING_ALL) : (this.world.getBlockState(pos).hasProperty(RotatableBlock.FACING_HORIZONTAL) ? this.world.getBlockState(pos).get(RotatableBlock.FACING_HORIZONTAL) : Direction.NORTH);
+        Direction facing = this.cachedFacing;
+        if (facing == null) {
+            BlockState state = this.getBlockState();
+            facing = state.hasProperty(RotatableBlock.FACING_ALL) ? state.get(RotatableBlock.FACING_ALL) : (state.hasProperty(RotatableBlock.FACING_HORIZONTAL) ? state.get(RotatableBlock.FACING_HORIZONTAL) : Direction.NORTH);
+            this.cachedFacing = facing;
+        }
+        return facing;
+    }
+
+    @Override
+    public void updateContainingBlockInfo() {
+        super.updateContainingBlockInfo();
+        this.cachedFacing = null;
     }
 
     @Override
@@ -278,6 +455,8 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
 
     @Override
     public void handleButtonMessage(int id, PlayerEntity playerEntity, CompoundNBT compound) {
+        if (multiProgressBarHandler != null) multiProgressBarHandler.invalidateCanIncrease();
+        wake();
         if (id == -3){
             if (!compound.contains("Invalid") && compound.contains("Fill") && !playerEntity.inventory.getItemStack().isEmpty()){
                 boolean fill = compound.getBoolean("Fill");
@@ -341,12 +520,16 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
 
     @Override
     public void markComponentDirty() {
+        if (multiProgressBarHandler != null) multiProgressBarHandler.invalidateCanIncrease();
+        wake();
         super.markDirty();
     }
 
     @Override
     public void markComponentForUpdate(boolean referenced) {
         if (!referenced) {
+            if (multiProgressBarHandler != null) multiProgressBarHandler.invalidateCanIncrease();
+            wake();
             super.markForUpdate();
         } else {
             this.markComponentDirty();
@@ -360,6 +543,7 @@ public abstract class ActiveTile<T extends ActiveTile<T>> extends BasicTile<T> i
     @Override
     public void invalidateCaps() {
         super.invalidateCaps();
+        this.neighborCapabilityCache.invalidate();
         if (this.multiInventoryComponent != null) this.multiInventoryComponent.getLazyOptionals().forEach(LazyOptional::invalidate);
         if (this.multiTankComponent != null) this.multiTankComponent.getLazyOptionals().forEach(LazyOptional::invalidate);
     }
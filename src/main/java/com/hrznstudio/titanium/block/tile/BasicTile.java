@@ -11,28 +11,41 @@ import com.hrznstudio.titanium.Titanium;
 import com.hrznstudio.titanium.block.BasicTileBlock;
 import com.hrznstudio.titanium.nbthandler.NBTManager;
 import com.hrznstudio.titanium.network.messages.TileFieldNetworkMessage;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SUpdateTileEntityPacket;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ActionResultType;
 import net.minecraft.util.Direction;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.server.ServerWorld;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.HashMap;
+import java.util.Map;
 
 public class BasicTile<T extends BasicTile<T>> extends TileEntity {
 
+    private static final int CHANGES_UPDATE = 2;
+
     private final BasicTileBlock<T> basicTileBlock;
+    private final Map<String, INBT> lastSyncedFields;
+    private long nextUpdateTime;
 
     public BasicTile(BasicTileBlock<T> base) {
         super(base.getTileEntityType());
         this.basicTileBlock = base;
+        this.lastSyncedFields = new HashMap<>();
+        this.nextUpdateTime = 0;
     }
 
     @ParametersAreNonnullByDefault
@@ -44,6 +57,15 @@ public class BasicTile<T extends BasicTile<T>> extends TileEntity {
 
     }
 
+    /**
+     * Called when the contents of a neighbouring tile change, see {@link net.minecraftforge.common.extensions.IForgeBlock#onNeighborChange}
+     *
+     * @param fromPos The position of the tile that changed
+     */
+    public void onNeighborTileChanged(BlockPos fromPos) {
+
+    }
+
     // TileEntity.Read
     @Override
     public void read(BlockState state, CompoundNBT compound) {
@@ -57,22 +79,92 @@ public class BasicTile<T extends BasicTile<T>> extends TileEntity {
         return NBTManager.getInstance().writeTileEntity(this, super.write(compound));
     }
 
+    /**
+     * Marks the tile to be saved and synced to the client, on the server only the client update is deferred to the end of the tick by the {@link TileUpdateScheduler}.
+     */
     public void markForUpdate() {
+        if (this.world != null && !this.world.isRemote) {
+            markDirty();
+            TileUpdateScheduler.schedule(this);
+        } else {
+            markForUpdateImmediately();
+        }
+    }
+
+    /**
+     * Marks the tile to be saved and sends the block update right away, skipping the {@link TileUpdateScheduler}.
+     */
+    public void markForUpdateImmediately() {
         this.world.notifyBlockUpdate(getPos(), getWorld().getBlockState(getPos()), getWorld().getBlockState(getPos()), 3);
         markDirty();
     }
 
+    /**
+     * Sends the update scheduled by the {@link TileUpdateScheduler}, with {@link #isDeltaSync()} only the {@link com.hrznstudio.titanium.annotation.Save} fields that changed since the last scheduled update are sent.
+     * The changes are computed once and sent to every player tracking the tile so all of them stay in sync.
+     * The changed fields update skips {@link net.minecraft.world.World#notifyBlockUpdate}, so the client doesn't re-render the block from it, tiles that need that call {@link #markForUpdateImmediately()} or {@link #updateNeigh()}.
+     * Comparators are still updated by the {@link #markDirty()} done in {@link #markForUpdate()}.
+     */
+    void sendScheduledUpdate() {
+        if (!isDeltaSync() || !(this.world instanceof ServerWorld)) {
+            this.world.notifyBlockUpdate(getPos(), getWorld().getBlockState(getPos()), getWorld().getBlockState(getPos()), 3);
+            return;
+        }
+        CompoundNBT tag = NBTManager.getInstance().writeTileEntityChanges(this, new CompoundNBT(), lastSyncedFields);
+        if (tag.isEmpty()) return;
+        SUpdateTileEntityPacket packet = new SUpdateTileEntityPacket(getPos(), CHANGES_UPDATE, tag);
+        ((ServerWorld) this.world).getChunkProvider().chunkManager.getTrackingPlayers(new ChunkPos(this.pos), false)
+                .forEach(playerEntity -> playerEntity.connection.sendPacket(packet));
+    }
+
+    /**
+     * Whether the scheduled updates only send the {@link com.hrznstudio.titanium.annotation.Save} fields that changed.
+     * Only enable it if {@link #write(CompoundNBT)} doesn't add any data the client needs outside of those fields, and if the client doesn't need to re-render the block on every update.
+     *
+     * @return true to send only the changed fields
+     */
+    protected boolean isDeltaSync() {
+        return false;
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        // The chunk was already marked dirty by markForUpdate, only the client update is dropped
+        TileUpdateScheduler.unschedule(this);
+    }
+
+    long getNextUpdateTime() {
+        return nextUpdateTime;
+    }
+
+    void setNextUpdateTime(long nextUpdateTime) {
+        this.nextUpdateTime = nextUpdateTime;
+    }
+
     @Override
     @Nonnull
     public CompoundNBT getUpdateTag() {
-        return write(new CompoundNBT());
+        CompoundNBT tag = write(new CompoundNBT());
+        NBTManager.getInstance().invalidateTileEntityChanges(tag, lastSyncedFields);
+        return tag;
     }
 
     @Override
     public void onDataPacket(NetworkManager net, SUpdateTileEntityPacket pkt) {
-        read(getBlockState(), pkt.getNbtCompound());
+        if (pkt.getTileEntityType() == CHANGES_UPDATE) {
+            handleSyncObject(pkt.getNbtCompound());
+        } else {
+            read(getBlockState(), pkt.getNbtCompound());
+        }
     }
 
+    /**
+     * Always sends the full tile, it is also used to resync a single player like when a block break is cancelled.
+     * The changed fields only updates are sent by {@link #sendScheduledUpdate()}.
+     *
+     * @return the update packet
+     */
     @Override
     public SUpdateTileEntityPacket getUpdatePacket() {
         CompoundNBT tag = new CompoundNBT();
@@ -87,8 +179,9 @@ public class BasicTile<T extends BasicTile<T>> extends TileEntity {
 
     public void syncObject(Object object){
         if (isServer()){
-            CompoundNBT nbt = NBTManager.getInstance().writeTileEntityObject(this, object, new CompoundNBT());
-            Titanium.NETWORK.sendToNearby(this.world, this.pos, 64, new TileFieldNetworkMessage(this.pos, nbt));
+            PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+            NBTManager.getInstance().writeTileEntityObject(this, object, buf);
+            Titanium.NETWORK.sendToTracking(this.world, this.pos, new TileFieldNetworkMessage(this.pos, buf));
         }
     }
 
@@ -96,6 +189,10 @@ public class BasicTile<T extends BasicTile<T>> extends TileEntity {
         NBTManager.getInstance().readTileEntity(this, nbt);
     }
 
+    public void handleSyncObject(PacketBuffer buf){
+        NBTManager.getInstance().readTileEntity(this, buf);
+    }
+
     public boolean isClient() {
         return this.world.isRemote;
     }
@@ -9,11 +9,11 @@ package com.hrznstudio.titanium.block.tile;
 
 import com.hrznstudio.titanium.annotation.Save;
 import com.hrznstudio.titanium.block.BasicTileBlock;
+import com.hrznstudio.titanium.component.energy.EnergyNetworkManager;
 import com.hrznstudio.titanium.component.energy.EnergyStorageComponent;
 import com.hrznstudio.titanium.component.progress.ProgressBarComponent;
-import net.minecraft.tileentity.TileEntity;
+import com.hrznstudio.titanium.profiler.TileProfiler;
 import net.minecraft.util.Direction;
-import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.energy.CapabilityEnergy;
 
 import javax.annotation.Nonnull;
@@ -29,6 +29,7 @@ public abstract class GeneratorTile<T extends GeneratorTile<T>> extends PoweredT
                 .setComponentHarness(this.getSelf())
                 .setCanIncrease(tileEntity -> !isSmart() || this.getEnergyCapacity() - this.getEnergyStorage().getEnergyStored() >= getEnergyProducedEveryTick())
                 .setIncreaseType(false)
+                .setPredictiveSync(true)
                 .setOnStart(() -> {
                     progressBar.setMaxProgress(consumeFuel());
                     progressBar.setProgress(progressBar.getMaxProgress());
@@ -93,15 +94,14 @@ public abstract class GeneratorTile<T extends GeneratorTile<T>> extends PoweredT
     public void tick() {
         super.tick();
         if (isServer()){
+            long start = TileProfiler.start();
             for (Direction facing : Direction.values()) {
-                BlockPos checking = this.pos.offset(facing);
-                TileEntity checkingTile = this.world.getTileEntity(checking);
-                if (checkingTile != null) {
-                    checkingTile.getCapability(CapabilityEnergy.ENERGY, facing.getOpposite()).ifPresent(storage -> {
-                        this.getEnergyStorage().extractEnergy(storage.receiveEnergy(this.getEnergyStorage().extractEnergy(this.getExtractingEnergy(), true), false), false);
-                    });
-                }
+                if (EnergyNetworkManager.isConnected(this, facing)) continue;
+                this.getNeighborCapabilityCache().get(CapabilityEnergy.ENERGY, facing).ifPresent(storage -> {
+                    this.getEnergyStorage().extractEnergy(storage.receiveEnergy(this.getEnergyStorage().extractEnergy(this.getExtractingEnergy(), true), false), false);
+                });
             }
+            TileProfiler.record(TileProfiler.Category.COMPONENT, getClass(), "energy_push", start);
         }
     }
 
@@ -12,6 +12,7 @@ import com.hrznstudio.titanium.annotation.Save;
 import com.hrznstudio.titanium.api.IFactory;
 import com.hrznstudio.titanium.api.client.IScreenAddon;
 import com.hrznstudio.titanium.block.BasicTileBlock;
+import com.hrznstudio.titanium.component.energy.EnergyNetworkManager;
 import com.hrznstudio.titanium.component.energy.EnergyStorageComponent;
 import com.hrznstudio.titanium.container.addon.IContainerAddon;
 import net.minecraft.util.Direction;
@@ -31,6 +32,8 @@ public abstract class PoweredTile<T extends PoweredTile<T>> extends ActiveTile<T
     private final LazyOptional<IEnergyStorage> lazyEnergyStorage = LazyOptional.of(this::getEnergyStorage);
 
     private boolean showEnergy = true;
+    @Nullable
+    private Set<Direction> cachedEnergyFaces;
 
     public PoweredTile(BasicTileBlock<T> basicTileBlock) {
         super(basicTileBlock);
@@ -52,6 +55,33 @@ public abstract class PoweredTile<T extends PoweredTile<T>> extends ActiveTile<T
         return Sets.newHashSet(Direction.values());
     }
 
+    /**
+     * Gets the {@link #getValidEnergyFaces()} cached until the block state changes, like when the block is rotated
+     *
+     * @return the faces energy can go through
+     */
+    public Set<Direction> getCachedEnergyFaces() {
+        Set<Direction> faces = cachedEnergyFaces;
+        if (faces == null) {
+            faces = Sets.immutableEnumSet(getValidEnergyFaces());
+            this.cachedEnergyFaces = faces;
+        }
+        return faces;
+    }
+
+    @Override
+    public void updateContainingBlockInfo() {
+        super.updateContainingBlockInfo();
+        if (cachedEnergyFaces == null) return;
+        Set<Direction> faces = Sets.immutableEnumSet(getValidEnergyFaces());
+        if (faces.equals(cachedEnergyFaces)) return;
+        // The network needs the old faces to disconnect the tile from its neighbours
+        boolean connected = EnergyNetworkManager.getNetwork(this) != null;
+        if (connected) EnergyNetworkManager.leave(this);
+        this.cachedEnergyFaces = faces;
+        if (connected) EnergyNetworkManager.join(this);
+    }
+
     @Override
     @Nonnull
     public List<IFactory<? extends IScreenAddon>> getScreenAddons() {
@@ -85,6 +115,24 @@ public abstract class PoweredTile<T extends PoweredTile<T>> extends ActiveTile<T
         this.showEnergy = showEnergy;
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        EnergyNetworkManager.join(this);
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        EnergyNetworkManager.leave(this);
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        EnergyNetworkManager.leave(this);
+    }
+
     @Override
     public void invalidateCaps() {
         super.invalidateCaps();
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.block.tile;
+
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * Removes sleeping {@link ActiveTile}s from the ticking list of a server world and adds them back when they are woken up.
+ * The ticking list can't be modified while the world ticks its tiles so both changes are applied at the end of the world tick.
+ * Sleeping tiles are bucketed by their wake time so each tick only looks at the tiles that are due.
+ */
+public class TileSleepManager {
+
+    private static final Map<IWorld, TileSleepManager> MANAGERS = new WeakHashMap<>();
+
+    private final Set<ActiveTile<?>> toSleep;
+    private final Set<ActiveTile<?>> toWake;
+    private final Map<ActiveTile<?>, Long> sleeping;
+    private final TreeMap<Long, List<ActiveTile<?>>> wakeQueue;
+
+    private TileSleepManager() {
+        this.toSleep = new LinkedHashSet<>();
+        this.toWake = new LinkedHashSet<>();
+        this.sleeping = new IdentityHashMap<>();
+        this.wakeQueue = new TreeMap<>();
+    }
+
+    static void sleep(ActiveTile<?> tile) {
+        TileSleepManager manager = MANAGERS.computeIfAbsent(tile.getWorld(), world -> new TileSleepManager());
+        manager.toWake.remove(tile);
+        if (!manager.sleeping.containsKey(tile)) manager.toSleep.add(tile);
+    }
+
+    static void wake(ActiveTile<?> tile) {
+        TileSleepManager manager = MANAGERS.get(tile.getWorld());
+        if (manager == null) return;
+        manager.toSleep.remove(tile);
+        if (manager.sleeping.containsKey(tile)) manager.toWake.add(tile);
+    }
+
+    /**
+     * Forgets the tile without adding it back to the ticking list, used when it is removed or unloaded
+     */
+    static void forget(ActiveTile<?> tile) {
+        TileSleepManager manager = MANAGERS.get(tile.getWorld());
+        if (manager == null) return;
+        manager.toSleep.remove(tile);
+        manager.toWake.remove(tile);
+        manager.removeSleeping(tile);
+    }
+
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+        TileSleepManager manager = MANAGERS.get(event.world);
+        if (manager != null) manager.apply(event.world);
+    }
+
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MANAGERS.remove(event.getWorld());
+    }
+
+    private void apply(World world) {
+        if (!toSleep.isEmpty()) {
+            Set<ActiveTile<?>> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(toSleep);
+            world.tickableTileEntities.removeIf(removed::contains);
+            for (ActiveTile<?> tile : toSleep) {
+                long wakeTime = tile.getWakeTime();
+                sleeping.put(tile, wakeTime);
+                // Tiles that sleep until woken never need to be checked by the queue
+                if (wakeTime != Long.MAX_VALUE) wakeQueue.computeIfAbsent(wakeTime, time -> new ArrayList<>()).add(tile);
+            }
+            toSleep.clear();
+        }
+        for (ActiveTile<?> tile : toWake) {
+            if (removeSleeping(tile)) wakeUp(world, tile);
+        }
+        toWake.clear();
+        long gameTime = world.getGameTime();
+        while (!wakeQueue.isEmpty() && wakeQueue.firstKey() <= gameTime) {
+            for (ActiveTile<?> tile : wakeQueue.pollFirstEntry().getValue()) {
+                if (sleeping.remove(tile) != null) wakeUp(world, tile);
+            }
+        }
+    }
+
+    private boolean removeSleeping(ActiveTile<?> tile) {
+        Long wakeTime = sleeping.remove(tile);
+        if (wakeTime == null) return false;
+        List<ActiveTile<?>> bucket = wakeQueue.get(wakeTime);
+        if (bucket != null) {
+            bucket.remove(tile);
+            if (bucket.isEmpty()) wakeQueue.remove(wakeTime);
+        }
+        return true;
+    }
+
+    private void wakeUp(World world, ActiveTile<?> tile) {
+        tile.onWake();
+        if (!tile.isRemoved() && tile.getWorld() == world && world.isBlockLoaded(tile.getPos()) && world.getTileEntity(tile.getPos()) == tile) {
+            world.tickableTileEntities.add(tile);
+        }
+    }
+}
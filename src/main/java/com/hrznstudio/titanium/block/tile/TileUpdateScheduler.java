@@ -0,0 +1,78 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.block.tile;
+
+import com.hrznstudio.titanium._impl.PerformanceConfig;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Collects the {@link BasicTile#markForUpdate()} calls of a server world and sends a single client update per tile at the end of the world tick, the tiles are marked to be saved right away.
+ * A tile is updated at most once every {@link PerformanceConfig#TILE_UPDATE_INTERVAL} ticks, changes made in between are sent together.
+ */
+public class TileUpdateScheduler {
+
+    private static final Map<IWorld, TileUpdateScheduler> SCHEDULERS = new WeakHashMap<>();
+
+    private final LinkedHashSet<BasicTile<?>> scheduledTiles;
+
+    private TileUpdateScheduler() {
+        this.scheduledTiles = new LinkedHashSet<>();
+    }
+
+    /**
+     * Schedules the tile to be updated at the end of the tick, scheduling the same tile more than once does nothing.
+     *
+     * @param tile The tile to update
+     */
+    public static void schedule(BasicTile<?> tile) {
+        SCHEDULERS.computeIfAbsent(tile.getWorld(), world -> new TileUpdateScheduler()).scheduledTiles.add(tile);
+    }
+
+    /**
+     * Removes the tile from the scheduled updates, used when its chunk is unloaded.
+     *
+     * @param tile The tile to remove
+     */
+    public static void unschedule(BasicTile<?> tile) {
+        TileUpdateScheduler scheduler = SCHEDULERS.get(tile.getWorld());
+        if (scheduler != null) scheduler.scheduledTiles.remove(tile);
+    }
+
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+        TileUpdateScheduler scheduler = SCHEDULERS.get(event.world);
+        if (scheduler != null) scheduler.flush(event.world);
+    }
+
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        SCHEDULERS.remove(event.getWorld());
+    }
+
+    private void flush(World world) {
+        if (scheduledTiles.isEmpty()) return;
+        long gameTime = world.getGameTime();
+        // Block updates notify neighbours which can schedule new updates, so work over a copy
+        for (BasicTile<?> tile : scheduledTiles.toArray(new BasicTile<?>[0])) {
+            if (tile.isRemoved() || tile.getWorld() != world) {
+                scheduledTiles.remove(tile);
+                continue;
+            }
+            if (gameTime < tile.getNextUpdateTime()) continue;
+            scheduledTiles.remove(tile);
+            tile.setNextUpdateTime(gameTime + PerformanceConfig.TILE_UPDATE_INTERVAL);
+            tile.sendScheduledUpdate();
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class ProgressBarScreenAddon<T extends IComponentHarness> extends BasicSc
 
     private ProgressBarComponent<T> progressBar;
     private IAssetProvider provider;
+    private float partialTicks;
 
     public ProgressBarScreenAddon(int posX, int posY, ProgressBarComponent<T> progressBarComponent) {
         super(posX, posY);
@@ -44,6 +45,7 @@ public class ProgressBarScreenAddon<T extends IComponentHarness> extends BasicSc
     @Override
     public void drawBackgroundLayer(MatrixStack stack, Screen screen, IAssetProvider provider, int guiX, int guiY, int mouseX, int mouseY, float partialTicks) {
         this.provider = provider;
+        this.partialTicks = partialTicks;
         progressBar.getBarDirection().render(stack, screen, guiX, guiY, provider, this);
     }
 
@@ -54,11 +56,24 @@ public class ProgressBarScreenAddon<T extends IComponentHarness> extends BasicSc
         return progressBar;
     }
 
+    /**
+     * Gets the progress to render, interpolated when the bar uses predictive sync
+     *
+     * @return the progress of the bar
+     */
+    public double getProgress() {
+        if (progressBar.isPredictiveSync() && progressBar.getComponentHarness() != null) {
+            return progressBar.getPredictedProgress(progressBar.getComponentHarness().getComponentWorld().getGameTime(), partialTicks);
+        }
+        return progressBar.getProgress();
+    }
+
     @Override
     public List<ITextComponent> getTooltipLines() {
         List<ITextComponent> tooltip = new ArrayList<>();
-        tooltip.add(new StringTextComponent(TextFormatting.GOLD + new TranslationTextComponent("tooltip.titanium.progressbar.progress").getString() +  TextFormatting.WHITE + new DecimalFormat().format(progressBar.getProgress()) + TextFormatting.GOLD + "/" + TextFormatting.WHITE + new DecimalFormat().format(progressBar.getMaxProgress())));
-        int progress = (progressBar.getMaxProgress() - progressBar.getProgress());
+        int current = (int) getProgress();
+        tooltip.add(new StringTextComponent(TextFormatting.GOLD + new TranslationTextComponent("tooltip.titanium.progressbar.progress").getString() +  TextFormatting.WHITE + new DecimalFormat().format(current) + TextFormatting.GOLD + "/" + TextFormatting.WHITE + new DecimalFormat().format(progressBar.getMaxProgress())));
+        int progress = (progressBar.getMaxProgress() - current);
         if (!progressBar.getIncreaseType()) progress = progressBar.getMaxProgress() - progress;
         tooltip.add(new StringTextComponent(TextFormatting.GOLD + "ETA: " + TextFormatting.WHITE + new DecimalFormat().format(Math.ceil(progress * progressBar.getTickingTime() / 20D / progressBar.getProgressIncrease())) + TextFormatting.DARK_AQUA + "s"));
         return tooltip;
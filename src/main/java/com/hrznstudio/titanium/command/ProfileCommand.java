@@ -0,0 +1,88 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.command;
+
+import com.hrznstudio.titanium.Titanium;
+import com.hrznstudio.titanium.profiler.TileProfiler;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+public class ProfileCommand {
+
+    private static final int SHOWN_RESULTS = 10;
+
+    public static void register(CommandDispatcher<CommandSource> dispatcher) {
+        dispatcher.register(Commands.literal("titanium")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(Commands.literal("profile")
+                        .executes(context -> show(context))
+                        .then(Commands.literal("start").executes(context -> {
+                            TileProfiler.reset();
+                            TileProfiler.setForced(true);
+                            context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.started"), true);
+                            return 1;
+                        }))
+                        .then(Commands.literal("stop").executes(context -> {
+                            TileProfiler.setForced(false);
+                            context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.stopped"), true);
+                            return 1;
+                        }))
+                        .then(Commands.literal("reset").executes(context -> {
+                            TileProfiler.reset();
+                            context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.reset"), true);
+                            return 1;
+                        }))
+                        .then(Commands.literal("dump")
+                                .executes(context -> dump(context, false))
+                                .then(Commands.literal("csv").executes(context -> dump(context, false)))
+                                .then(Commands.literal("json").executes(context -> dump(context, true))))));
+    }
+
+    private static int show(CommandContext<CommandSource> context) {
+        context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.bundles", Titanium.NETWORK.getBundledMessages(), Titanium.NETWORK.getBundlesSent(), Titanium.NETWORK.getBytesSaved()), false);
+        List<TileProfiler.Result> results = TileProfiler.getResults();
+        if (results.isEmpty()) {
+            context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.empty"), false);
+            return 0;
+        }
+        for (TileProfiler.Result result : results.subList(0, Math.min(SHOWN_RESULTS, results.size()))) {
+            String unit = result.getCategory() == TileProfiler.Category.PACKET ? "B" : "ns";
+            context.getSource().sendFeedback(new StringTextComponent(result.getCategory().name().toLowerCase() + " " + result.getOwner() + (result.getName().isEmpty() ? "" : " " + result.getName())
+                    + ": " + result.getTotal() + unit + " / " + result.getCalls() + " (" + result.getAverage() + unit + ")"), false);
+        }
+        return results.size();
+    }
+
+    private static int dump(CommandContext<CommandSource> context, boolean json) {
+        Path path = FMLPaths.GAMEDIR.get().resolve("titanium").resolve("profile-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + (json ? ".json" : ".csv"));
+        try {
+            if (json) {
+                TileProfiler.writeJSON(path);
+            } else {
+                TileProfiler.writeCSV(path);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            context.getSource().sendErrorMessage(new TranslationTextComponent("titanium.profile.dump_failed", e.getMessage()));
+            return 0;
+        }
+        context.getSource().sendFeedback(new TranslationTextComponent("titanium.profile.dumped", path.toString()), true);
+        return 1;
+    }
+}
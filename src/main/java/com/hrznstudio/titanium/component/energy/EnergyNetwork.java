@@ -0,0 +1,127 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.component.energy;
+
+import com.hrznstudio.titanium.block.tile.GeneratorTile;
+import com.hrznstudio.titanium.block.tile.PoweredTile;
+import net.minecraftforge.energy.IEnergyStorage;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A group of connected {@link PoweredTile}s that share their energy, managed by {@link EnergyNetworkManager}.
+ * Generators are the producers of the network and every other tile is a consumer, energy is split proportionally once per tick.
+ * Like when they push to their neighbours one by one, generators give up to their {@link GeneratorTile#getExtractingEnergy()} for each member they are connected to.
+ */
+public class EnergyNetwork {
+
+    private final Set<PoweredTile<?>> members;
+    private int[] available;
+    private int[] demand;
+
+    public EnergyNetwork() {
+        this.members = new LinkedHashSet<>();
+        this.available = new int[0];
+        this.demand = new int[0];
+    }
+
+    public Set<PoweredTile<?>> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Moves energy from the producers to the consumers of the network.
+     * Every producer gives and every consumer receives in proportion to what they can extract and accept.
+     *
+     * @param connections The amount of members each member is connected to
+     */
+    public void balance(Map<PoweredTile<?>, Integer> connections) {
+        if (members.size() < 2) return;
+        if (available.length < members.size()) {
+            available = new int[members.size()];
+            demand = new int[members.size()];
+        }
+        long supply = 0;
+        long request = 0;
+        int index = 0;
+        for (PoweredTile<?> member : members) {
+            available[index] = 0;
+            demand[index] = 0;
+            if (!member.isRemoved()) {
+                if (member instanceof GeneratorTile) {
+                    int perFace = member.getEnergyStorage().extractEnergy(((GeneratorTile<?>) member).getExtractingEnergy(), true);
+                    long faces = Math.max(1, connections.getOrDefault(member, 1));
+                    available[index] = (int) Math.min(member.getEnergyStorage().getEnergyStored(), perFace * faces);
+                    supply += available[index];
+                } else {
+                    demand[index] = member.getEnergyStorage().receiveEnergy(Integer.MAX_VALUE, true);
+                    request += demand[index];
+                }
+            }
+            ++index;
+        }
+        long toMove = Math.min(supply, request);
+        if (toMove <= 0) return;
+        long received = 0;
+        index = 0;
+        for (PoweredTile<?> member : members) {
+            if (demand[index] > 0) {
+                int amount = member.getEnergyStorage().receiveEnergy((int) (demand[index] * toMove / request), false);
+                demand[index] -= amount;
+                received += amount;
+            }
+            ++index;
+        }
+        // Shares are rounded down, hand out what is left to whoever still accepts it
+        index = 0;
+        for (PoweredTile<?> member : members) {
+            if (received >= toMove) break;
+            if (demand[index] > 0) {
+                received += member.getEnergyStorage().receiveEnergy((int) Math.min(toMove - received, demand[index]), false);
+            }
+            ++index;
+        }
+        long extracted = 0;
+        index = 0;
+        for (PoweredTile<?> member : members) {
+            if (available[index] > 0) {
+                int amount = extract(member.getEnergyStorage(), (int) (available[index] * received / supply));
+                available[index] -= amount;
+                extracted += amount;
+            }
+            ++index;
+        }
+        index = 0;
+        for (PoweredTile<?> member : members) {
+            if (extracted >= received) break;
+            if (available[index] > 0) {
+                extracted += extract(member.getEnergyStorage(), (int) Math.min(received - extracted, available[index]));
+            }
+            ++index;
+        }
+    }
+
+    /**
+     * Extracts the amount in as many calls as needed, the storage of a generator only gives its extracting energy on each call
+     */
+    private static int extract(IEnergyStorage storage, int amount) {
+        int extracted = 0;
+        while (extracted < amount) {
+            int step = storage.extractEnergy(amount - extracted, false);
+            if (step <= 0) break;
+            extracted += step;
+        }
+        return extracted;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.component.energy;
+
+import com.hrznstudio.titanium._impl.PerformanceConfig;
+import com.hrznstudio.titanium.block.tile.PoweredTile;
+import com.hrznstudio.titanium.profiler.TileProfiler;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorld;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the {@link EnergyNetwork}s of a server world when {@link PerformanceConfig#ENERGY_NETWORKS} is enabled.
+ * Networks are merged when a tile joins them and split lazily at the start of the next tick when a tile leaves them, then every network is balanced once.
+ */
+public class EnergyNetworkManager {
+
+    private static final Map<IWorld, EnergyNetworkManager> MANAGERS = new WeakHashMap<>();
+
+    private final Map<BlockPos, PoweredTile<?>> tiles;
+    private final Map<BlockPos, EnergyNetwork> networkByPos;
+    private final Set<EnergyNetwork> networks;
+    private final Set<EnergyNetwork> pendingSplits;
+    private final Map<PoweredTile<?>, Integer> connections;
+
+    private EnergyNetworkManager() {
+        this.tiles = new HashMap<>();
+        this.networkByPos = new HashMap<>();
+        this.networks = new LinkedHashSet<>();
+        this.pendingSplits = new HashSet<>();
+        this.connections = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds the tile to the network of its neighbours, merging them if it connects more than one
+     *
+     * @param tile The tile that was loaded or placed
+     */
+    public static void join(PoweredTile<?> tile) {
+        if (!PerformanceConfig.ENERGY_NETWORKS || tile.getWorld() == null || tile.getWorld().isRemote) return;
+        MANAGERS.computeIfAbsent(tile.getWorld(), world -> new EnergyNetworkManager()).add(tile);
+    }
+
+    /**
+     * Removes the tile from its network, the network is split at the start of the next tick if needed
+     *
+     * @param tile The tile that was unloaded or removed
+     */
+    public static void leave(PoweredTile<?> tile) {
+        if (tile.getWorld() == null) return;
+        EnergyNetworkManager manager = MANAGERS.get(tile.getWorld());
+        if (manager != null) manager.remove(tile);
+    }
+
+    /**
+     * Gets if the energy going from the tile to the given side is already handled by its network
+     *
+     * @param tile   The tile that wants to send energy
+     * @param facing The side of the tile
+     * @return true if the neighbour is part of the same network
+     */
+    public static boolean isConnected(PoweredTile<?> tile, Direction facing) {
+        if (!PerformanceConfig.ENERGY_NETWORKS || tile.getWorld() == null) return false;
+        EnergyNetworkManager manager = MANAGERS.get(tile.getWorld());
+        if (manager == null || manager.tiles.get(tile.getPos()) != tile) return false;
+        PoweredTile<?> neighbor = manager.tiles.get(tile.getPos().offset(facing));
+        return neighbor != null && connects(tile, neighbor, facing);
+    }
+
+    @Nullable
+    public static EnergyNetwork getNetwork(PoweredTile<?> tile) {
+        if (tile.getWorld() == null) return null;
+        EnergyNetworkManager manager = MANAGERS.get(tile.getWorld());
+        return manager == null || manager.tiles.get(tile.getPos()) != tile ? null : manager.networkByPos.get(tile.getPos());
+    }
+
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.START || event.world.isRemote || !PerformanceConfig.ENERGY_NETWORKS) return;
+        EnergyNetworkManager manager = MANAGERS.get(event.world);
+        if (manager != null) manager.tick();
+    }
+
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MANAGERS.remove(event.getWorld());
+    }
+
+    private static boolean connects(PoweredTile<?> tile, PoweredTile<?> neighbor, Direction facing) {
+        return tile.getCachedEnergyFaces().contains(facing) && neighbor.getCachedEnergyFaces().contains(facing.getOpposite());
+    }
+
+    private void add(PoweredTile<?> tile) {
+        BlockPos pos = tile.getPos().toImmutable();
+        PoweredTile<?> previous = tiles.get(pos);
+        if (previous == tile) return;
+        if (previous != null) remove(previous);
+        List<EnergyNetwork> neighbors = new ArrayList<>();
+        int connected = 0;
+        for (Direction facing : Direction.values()) {
+            PoweredTile<?> neighbor = tiles.get(pos.offset(facing));
+            if (neighbor == null || !connects(tile, neighbor, facing)) continue;
+            ++connected;
+            connections.merge(neighbor, 1, Integer::sum);
+            EnergyNetwork network = networkByPos.get(neighbor.getPos());
+            if (!neighbors.contains(network)) neighbors.add(network);
+        }
+        EnergyNetwork network;
+        if (neighbors.isEmpty()) {
+            network = new EnergyNetwork();
+            networks.add(network);
+        } else {
+            network = neighbors.get(0);
+            for (EnergyNetwork other : neighbors) {
+                if (other.size() > network.size()) network = other;
+            }
+            for (EnergyNetwork other : neighbors) {
+                if (other != network) merge(other, network);
+            }
+        }
+        tiles.put(pos, tile);
+        connections.put(tile, connected);
+        networkByPos.put(pos, network);
+        network.getMembers().add(tile);
+    }
+
+    private void merge(EnergyNetwork from, EnergyNetwork into) {
+        for (PoweredTile<?> member : from.getMembers()) {
+            networkByPos.put(member.getPos(), into);
+        }
+        into.getMembers().addAll(from.getMembers());
+        networks.remove(from);
+        if (pendingSplits.remove(from)) pendingSplits.add(into);
+    }
+
+    private void remove(PoweredTile<?> tile) {
+        BlockPos pos = tile.getPos();
+        if (tiles.get(pos) != tile) return;
+        tiles.remove(pos);
+        connections.remove(tile);
+        for (Direction facing : Direction.values()) {
+            PoweredTile<?> neighbor = tiles.get(pos.offset(facing));
+            if (neighbor != null && connects(tile, neighbor, facing)) connections.merge(neighbor, -1, Integer::sum);
+        }
+        EnergyNetwork network = networkByPos.remove(pos);
+        network.getMembers().remove(tile);
+        if (network.getMembers().isEmpty()) {
+            networks.remove(network);
+            pendingSplits.remove(network);
+        } else {
+            pendingSplits.add(network);
+        }
+    }
+
+    private void tick() {
+        for (EnergyNetwork network : pendingSplits) {
+            split(network);
+        }
+        pendingSplits.clear();
+        long start = TileProfiler.start();
+        for (EnergyNetwork network : networks) {
+            network.balance(connections);
+        }
+        TileProfiler.record(TileProfiler.Category.COMPONENT, EnergyNetwork.class, "balance", start);
+    }
+
+    /**
+     * Walks the members of the network and moves every group that isn't connected to the first one into a new network
+     */
+    private void split(EnergyNetwork network) {
+        Set<PoweredTile<?>> unvisited = new LinkedHashSet<>(network.getMembers());
+        boolean first = true;
+        while (!unvisited.isEmpty()) {
+            PoweredTile<?> start = unvisited.iterator().next();
+            Set<PoweredTile<?>> group = new LinkedHashSet<>();
+            Deque<PoweredTile<?>> queue = new ArrayDeque<>();
+            queue.add(start);
+            unvisited.remove(start);
+            while (!queue.isEmpty()) {
+                PoweredTile<?> current = queue.poll();
+                group.add(current);
+                for (Direction facing : Direction.values()) {
+                    PoweredTile<?> neighbor = tiles.get(current.getPos().offset(facing));
+                    if (neighbor != null && unvisited.contains(neighbor) && connects(current, neighbor, facing)) {
+                        unvisited.remove(neighbor);
+                        queue.add(neighbor);
+                    }
+                }
+            }
+            if (first) {
+                first = false;
+                if (unvisited.isEmpty()) return;
+                network.getMembers().retainAll(group);
+            } else {
+                EnergyNetwork created = new EnergyNetwork();
+                created.getMembers().addAll(group);
+                for (PoweredTile<?> member : group) {
+                    networkByPos.put(member.getPos(), created);
+                }
+                networks.add(created);
+            }
+        }
+    }
+}
@@ -29,12 +29,13 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
     ICapabilityHolder<MultiTankComponent.MultiTankCapabilityHandler<T>>, IComponentHandler {
 
     private final LinkedHashSet<FluidTankComponent<T>> tanks;
-    private final HashMap<FacingUtil.Sideness, LazyOptional<MultiTankCapabilityHandler<T>>> lazyOptionals;
+    private final EnumMap<FacingUtil.Sideness, LazyOptional<MultiTankCapabilityHandler<T>>> lazyOptionals;
+    private LazyOptional<MultiTankCapabilityHandler<T>> internalLazyOptional;
 
     public MultiTankComponent() {
         tanks = new LinkedHashSet<>();
-        this.lazyOptionals = new HashMap<>();
-        lazyOptionals.put(null, LazyOptional.empty());
+        this.lazyOptionals = new EnumMap<>(FacingUtil.Sideness.class);
+        this.internalLazyOptional = LazyOptional.empty();
         for (FacingUtil.Sideness value : FacingUtil.Sideness.values()) {
             lazyOptionals.put(value, LazyOptional.empty());
         }
@@ -44,7 +45,7 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
     public void add(Object... component) {
         Arrays.stream(component).filter(this::accepts).forEach(tank -> {
             this.tanks.add((FluidTankComponent<T>) tank);
-            rebuildCapability(new FacingUtil.Sideness[]{null});
+            rebuildInternalCapability();
             rebuildCapability(FacingUtil.Sideness.values());
         });
     }
@@ -53,22 +54,30 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
         return component instanceof FluidTankComponent;
     }
 
+    private void rebuildInternalCapability() {
+        internalLazyOptional.invalidate();
+        MultiTankCapabilityHandler<T> handler = new MultiTankCapabilityHandler<>(Collections.unmodifiableList(new ArrayList<>(tanks)));
+        internalLazyOptional = LazyOptional.of(() -> handler);
+    }
+
+    /**
+     * Rebuilds the handler of each side, the handler is created on the first resolve and shared by every later resolve until the next rebuild.
+     *
+     * @param sides The sides to rebuild
+     */
     private void rebuildCapability(FacingUtil.Sideness[] sides) {
         for (FacingUtil.Sideness side : sides) {
             lazyOptionals.get(side).invalidate();
-            lazyOptionals.put(side, LazyOptional.of(() -> new MultiTankCapabilityHandler<>(getHandlersForSide(side))));
+            lazyOptionals.put(side, LazyOptional.of(() -> new MultiTankCapabilityHandler<>(Collections.unmodifiableList(getHandlersForSide(side))));
         }
     }
 
     private List<FluidTankComponent<T>> getHandlersForSide(FacingUtil.Sideness sideness) {
-        if (sideness == null) {
-            return new ArrayList<>(tanks);
-        }
         List<FluidTankComponent<T>> handlers = new ArrayList<>();
         for (FluidTankComponent<T> tankHandler : tanks) {
             if (tankHandler instanceof IFacingComponent) {
-                if (((IFacingComponent) tankHandler).getFacingModes().containsKey(sideness) &&
-                        ((IFacingComponent) tankHandler).getFacingModes().get(sideness).allowsConnection()) {
+                IFacingComponent.FaceMode mode = ((IFacingComponent) tankHandler).getFacingModes().get(sideness);
+                if (mode != null && mode.allowsConnection()) {
                     handlers.add(tankHandler);
                 }
             } else {
@@ -81,7 +90,7 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
     @Nonnull
     @Override
     public LazyOptional<MultiTankCapabilityHandler<T>> getCapabilityForSide(@Nullable FacingUtil.Sideness sideness) {
-        return lazyOptionals.get(sideness);
+        return sideness == null ? internalLazyOptional : lazyOptionals.get(sideness);
     }
 
     @Override
@@ -89,6 +98,7 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
         for (FluidTankComponent<T> tankHandler : tanks) {
             if (tankHandler.getName().equals(handlerName) && tankHandler instanceof IFacingComponent) {
                 ((IFacingComponent) tankHandler).getFacingModes().put(facing, ((IFacingComponent) tankHandler).getValidFacingModes()[mode]);
+                if (((IFacingComponent) tankHandler).getWorkBackoff() != null) ((IFacingComponent) tankHandler).getWorkBackoff().wake();
                 rebuildCapability(new FacingUtil.Sideness[]{facing});
                 return true;
             }
@@ -98,7 +108,9 @@ public class MultiTankComponent<T extends IComponentHarness> implements IScreenA
 
     @Override
     public Collection<LazyOptional<MultiTankCapabilityHandler<T>>> getLazyOptionals() {
-        return this.lazyOptionals.values();
+        List<LazyOptional<MultiTankCapabilityHandler<T>>> optionals = new ArrayList<>(lazyOptionals.values());
+        optionals.add(internalLazyOptional);
+        return optionals;
     }
 
     public HashSet<FluidTankComponent<T>> getTanks() {
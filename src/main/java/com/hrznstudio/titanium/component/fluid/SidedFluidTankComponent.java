@@ -15,12 +15,13 @@ import com.hrznstudio.titanium.api.client.IScreenAddonProvider;
 import com.hrznstudio.titanium.block.tile.ActiveTile;
 import com.hrznstudio.titanium.client.screen.addon.FacingHandlerScreenAddon;
 import com.hrznstudio.titanium.component.IComponentHarness;
+import com.hrznstudio.titanium.component.sideness.FacingWorkBackoff;
 import com.hrznstudio.titanium.component.sideness.IFacingComponent;
+import com.hrznstudio.titanium.component.sideness.NeighborCapabilityCache;
 import com.hrznstudio.titanium.component.sideness.SidedComponentManager;
 import com.hrznstudio.titanium.util.FacingUtil;
 import net.minecraft.item.DyeColor;
 import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -42,6 +43,7 @@ public class SidedFluidTankComponent<T extends IComponentHarness> extends FluidT
     private int pos;
     private boolean hasFacingAddon;
     private FaceMode[] validFaceModes;
+    private final FacingWorkBackoff workBackoff;
 
     public SidedFluidTankComponent(String name, int amount, int posX, int posY, int pos) {
         super(name, amount, posX, posY);
@@ -53,6 +55,7 @@ public class SidedFluidTankComponent<T extends IComponentHarness> extends FluidT
         }
         this.hasFacingAddon = true;
         this.validFaceModes = FaceMode.values();
+        this.workBackoff = new FacingWorkBackoff();
     }
 
     public SidedFluidTankComponent<T> disableFacingAddon() {
@@ -101,28 +104,22 @@ public class SidedFluidTankComponent<T extends IComponentHarness> extends FluidT
         for (FacingUtil.Sideness sideness : facingModes.keySet()) {
             if (facingModes.get(sideness).equals(FaceMode.PUSH)) {
                 Direction real = FacingUtil.getFacingFromSide(blockFacing, sideness);
-                TileEntity entity = world.getTileEntity(pos.offset(real));
-                if (entity != null) {
-                    boolean hasWorked = entity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, real.getOpposite())
-                            .map(iFluidHandler -> transfer(this, iFluidHandler, workAmount))
-                            .orElse(false);
-                    if (hasWorked) {
-                        return true;
-                    }
+                boolean hasWorked = NeighborCapabilityCache.getNeighborCapability(getComponentHarness(), world, pos, CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, real)
+                        .map(iFluidHandler -> transfer(this, iFluidHandler, workAmount))
+                        .orElse(false);
+                if (hasWorked) {
+                    return true;
                 }
             }
         }
         for (FacingUtil.Sideness sideness : facingModes.keySet()) {
             if (facingModes.get(sideness).equals(FaceMode.PULL)) {
                 Direction real = FacingUtil.getFacingFromSide(blockFacing, sideness);
-                TileEntity entity = world.getTileEntity(pos.offset(real));
-                if (entity != null) {
-                    boolean hasWorked = entity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, real.getOpposite())
-                            .map(iFluidHandler -> transfer(iFluidHandler, this, workAmount))
-                            .orElse(false);
-                    if (hasWorked) {
-                        return true;
-                    }
+                boolean hasWorked = NeighborCapabilityCache.getNeighborCapability(getComponentHarness(), world, pos, CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, real)
+                        .map(iFluidHandler -> transfer(iFluidHandler, this, workAmount))
+                        .orElse(false);
+                if (hasWorked) {
+                    return true;
                 }
             }
         }
@@ -142,6 +139,11 @@ public class SidedFluidTankComponent<T extends IComponentHarness> extends FluidT
         return validFaceModes;
     }
 
+    @Override
+    public FacingWorkBackoff getWorkBackoff() {
+        return workBackoff;
+    }
+
     public SidedFluidTankComponent<T> setValidFaceModes(FaceMode... validFaceModes){
         this.validFaceModes = validFaceModes;
         for (FacingUtil.Sideness value : FacingUtil.Sideness.values()) {
@@ -150,6 +152,12 @@ public class SidedFluidTankComponent<T extends IComponentHarness> extends FluidT
         return this;
     }
 
+    @Override
+    protected void onContentsChanged() {
+        super.onContentsChanged();
+        workBackoff.wake();
+    }
+
     private boolean transfer(IFluidHandler from, IFluidHandler to, int workAmount) {
         FluidStack stack = from.drain(workAmount * 100, FluidAction.SIMULATE);
         if (!stack.isEmpty()) {
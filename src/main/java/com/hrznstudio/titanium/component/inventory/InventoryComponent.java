@@ -36,6 +36,8 @@ import java.util.function.Predicate;
 public class InventoryComponent<T extends IComponentHarness> extends ItemStackHandler implements IScreenAddonProvider,
         IContainerAddonProvider {
 
+    private static int sizeChanges;
+
     private final String name;
     private int xPos;
     private int yPos;
@@ -85,6 +87,22 @@ public class InventoryComponent<T extends IComponentHarness> extends ItemStackHa
         return this;
     }
 
+    @Override
+    public void setSize(int size) {
+        int oldSize = stacks.size();
+        super.setSize(size);
+        if (oldSize != size) ++sizeChanges;
+    }
+
+    /**
+     * Gets a counter that changes every time any inventory changes its amount of slots, used to know when slot lookup tables need to be rebuilt
+     *
+     * @return the size change counter
+     */
+    static int getSizeChanges() {
+        return sizeChanges;
+    }
+
     /**
      * Sets the tile where the inventory is to allow markForUpdate automatically
      *
@@ -29,12 +29,11 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
     ICapabilityHolder<MultiInventoryComponent.MultiInvCapabilityHandler<T>>, IComponentHandler {
 
     private final LinkedHashSet<InventoryComponent<T>> inventoryHandlers;
-    private final Map<FacingUtil.Sideness, LazyOptional<MultiInvCapabilityHandler<T>>> lazyOptionals;
+    private final EnumMap<FacingUtil.Sideness, LazyOptional<MultiInvCapabilityHandler<T>>> lazyOptionals;
 
     public MultiInventoryComponent() {
         this.inventoryHandlers = new LinkedHashSet<>();
-        this.lazyOptionals = new HashMap<>();
-        lazyOptionals.put(null, LazyOptional.empty());
+        this.lazyOptionals = new EnumMap<>(FacingUtil.Sideness.class);
         for (FacingUtil.Sideness value : FacingUtil.Sideness.values()) {
             lazyOptionals.put(value, LazyOptional.empty());
         }
@@ -52,22 +51,24 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
         return component instanceof InventoryComponent;
     }
 
+    /**
+     * Rebuilds the handler of each side, the handler is created on the first resolve and shared by every later resolve until the next rebuild.
+     *
+     * @param sides The sides to rebuild
+     */
     private void rebuildCapability(FacingUtil.Sideness[] sides) {
         for (FacingUtil.Sideness side : sides) {
             lazyOptionals.get(side).invalidate();
-            lazyOptionals.put(side, LazyOptional.of(() -> new MultiInvCapabilityHandler<>(getHandlersForSide(side))));
+            lazyOptionals.put(side, LazyOptional.of(() -> new MultiInvCapabilityHandler<>(Collections.unmodifiableList(getHandlersForSide(side))));
         }
     }
 
     private List<InventoryComponent<T>> getHandlersForSide(FacingUtil.Sideness sideness) {
-        if (sideness == null) {
-            return new ArrayList<>(inventoryHandlers);
-        }
         List<InventoryComponent<T>> handlers = new ArrayList<>();
         for (InventoryComponent<T> inventoryHandler : inventoryHandlers) {
             if (inventoryHandler instanceof IFacingComponent) {
-                if (((IFacingComponent) inventoryHandler).getFacingModes().containsKey(sideness) &&
-                        ((IFacingComponent) inventoryHandler).getFacingModes().get(sideness).allowsConnection()) {
+                IFacingComponent.FaceMode mode = ((IFacingComponent) inventoryHandler).getFacingModes().get(sideness);
+                if (mode != null && mode.allowsConnection()) {
                     handlers.add(inventoryHandler);
                 }
             } else {
@@ -80,7 +81,7 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
     @Nonnull
     @Override
     public LazyOptional<MultiInvCapabilityHandler<T>> getCapabilityForSide(FacingUtil.Sideness sideness) {
-        return lazyOptionals.get(sideness);
+        return sideness == null ? LazyOptional.empty() : lazyOptionals.get(sideness);
     }
 
     @Override
@@ -88,6 +89,7 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
         for (InventoryComponent<T> inventoryHandler : inventoryHandlers) {
             if (inventoryHandler.getName().equals(handlerName) && inventoryHandler instanceof IFacingComponent) {
                 ((IFacingComponent) inventoryHandler).getFacingModes().put(facing, ((IFacingComponent) inventoryHandler).getValidFacingModes()[mode]);
+                if (((IFacingComponent) inventoryHandler).getWorkBackoff() != null) ((IFacingComponent) inventoryHandler).getWorkBackoff().wake();
                 rebuildCapability(new FacingUtil.Sideness[]{facing});
                 return true;
             }
@@ -119,17 +121,48 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
 
         private final List<InventoryComponent<T>> inventoryHandlers;
         private int slotAmount;
+        private int tablesVersion;
+        private int[] slotToHandler;
+        private int[] slotToRelativeSlot;
 
         public MultiInvCapabilityHandler(List<InventoryComponent<T>> inventoryHandlers) {
             this.inventoryHandlers = inventoryHandlers;
+            rebuildTables();
+        }
+
+        /**
+         * Rebuilds the flat slot lookup tables, so slot access doesn't need to walk the handlers.
+         */
+        private void rebuildTables() {
+            this.tablesVersion = InventoryComponent.getSizeChanges();
+            int[] handlerSizes = new int[this.inventoryHandlers.size()];
             this.slotAmount = 0;
-            for (InventoryComponent<T> inventoryHandler : this.inventoryHandlers) {
-                slotAmount += inventoryHandler.getSlots();
+            for (int handler = 0; handler < handlerSizes.length; handler++) {
+                handlerSizes[handler] = this.inventoryHandlers.get(handler).getSlots();
+                slotAmount += handlerSizes[handler];
+            }
+            this.slotToHandler = new int[slotAmount];
+            this.slotToRelativeSlot = new int[slotAmount];
+            int slot = 0;
+            for (int handler = 0; handler < handlerSizes.length; handler++) {
+                for (int relative = 0; relative < handlerSizes[handler]; relative++) {
+                    slotToHandler[slot] = handler;
+                    slotToRelativeSlot[slot] = relative;
+                    ++slot;
+                }
             }
         }
 
+        /**
+         * Rebuilds the tables if any inventory changed its amount of slots since they were built, checked with {@link InventoryComponent#getSizeChanges()} so it doesn't touch the inventories.
+         */
+        private void validateTables() {
+            if (tablesVersion != InventoryComponent.getSizeChanges()) rebuildTables();
+        }
+
         @Override
         public int getSlots() {
+            validateTables();
             return slotAmount;
         }
 
@@ -181,6 +214,7 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
 
         @Override
         protected void validateSlotIndex(int slot) {
+            validateTables();
             if (slot < 0 || slot >= slotAmount)
                 throw new RuntimeException("Slot " + slot + " not in valid range - [0," + slotAmount + ")");
         }
@@ -195,16 +229,16 @@ public class MultiInventoryComponent<T extends IComponentHarness> implements ISc
         }
 
         public InventoryComponent<T> getFromSlot(int slot) {
-            for (InventoryComponent<T> handler : inventoryHandlers) {
-                slot -= handler.getSlots();
-                if (slot < 0) {
-                    return handler;
-                }
-            }
-            return null;
+            validateTables();
+            if (slot < 0 || slot >= slotAmount) return null;
+            return inventoryHandlers.get(slotToHandler[slot]);
         }
 
         public int getRelativeSlot(InventoryComponent<T> handler, int slot) {
+            validateTables();
+            if (slot >= 0 && slot < slotAmount && inventoryHandlers.get(slotToHandler[slot]) == handler) {
+                return slotToRelativeSlot[slot];
+            }
             for (InventoryComponent<T> h : inventoryHandlers) {
                 if (h.equals(handler)) return slot;
                 slot -= h.getSlots();
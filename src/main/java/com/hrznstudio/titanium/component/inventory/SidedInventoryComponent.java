@@ -14,13 +14,14 @@ import com.hrznstudio.titanium.api.client.IScreenAddon;
 import com.hrznstudio.titanium.block.tile.ActiveTile;
 import com.hrznstudio.titanium.client.screen.addon.FacingHandlerScreenAddon;
 import com.hrznstudio.titanium.component.IComponentHarness;
+import com.hrznstudio.titanium.component.sideness.FacingWorkBackoff;
 import com.hrznstudio.titanium.component.sideness.IFacingComponent;
+import com.hrznstudio.titanium.component.sideness.NeighborCapabilityCache;
 import com.hrznstudio.titanium.component.sideness.SidedComponentManager;
 import com.hrznstudio.titanium.util.FacingUtil;
 import net.minecraft.item.DyeColor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -42,6 +43,10 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
     private int position;
     private boolean hasFacingAddon;
     private FaceMode[] validFaceModes;
+    private final FacingWorkBackoff workBackoff;
+    private int batchTransferAmount;
+    private final int[] sourceSlotCursors;
+    private final int[] destinationSlotCursors;
 
     public SidedInventoryComponent(String name, int xPos, int yPos, int size, int position) {
         super(name, xPos, yPos, size);
@@ -55,6 +60,10 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
         this.setColorGuiEnabled(true);
         this.hasFacingAddon = true;
         this.validFaceModes = FaceMode.values();
+        this.workBackoff = new FacingWorkBackoff();
+        this.batchTransferAmount = 0;
+        this.sourceSlotCursors = new int[FacingUtil.Sideness.values().length];
+        this.destinationSlotCursors = new int[FacingUtil.Sideness.values().length];
     }
 
     public SidedInventoryComponent<T> disableFacingAddon() {
@@ -62,6 +71,22 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
         return this;
     }
 
+    /**
+     * Enables the batched transfer mode, every work cycle moves up to the given amount of items using as many slots and faces as needed
+     * instead of a single stack from a single face.
+     *
+     * @param batchTransferAmount The max amount of items moved every work cycle, 0 to disable the batched mode
+     * @return itself
+     */
+    public SidedInventoryComponent<T> setBatchTransferAmount(int batchTransferAmount) {
+        this.batchTransferAmount = batchTransferAmount;
+        return this;
+    }
+
+    public int getBatchTransferAmount() {
+        return batchTransferAmount;
+    }
+
     @Override
     public HashMap<FacingUtil.Sideness, FaceMode> getFacingModes() {
         return facingModes;
@@ -120,37 +145,50 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
 
     @Override
     public boolean work(World world, BlockPos pos, Direction blockFacing, int workAmount) {
+        if (batchTransferAmount > 0) {
+            return workBatched(world, pos, blockFacing, batchTransferAmount);
+        }
         for (FacingUtil.Sideness sideness : facingModes.keySet()) {
             if (facingModes.get(sideness).equals(FaceMode.PUSH)) {
                 Direction real = FacingUtil.getFacingFromSide(blockFacing, sideness);
-                TileEntity entity = world.getTileEntity(pos.offset(real));
-                if (entity != null) {
-                    boolean hasWorked = entity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, real.getOpposite())
-                            .map(iItemHandler -> transfer(sideness, this, iItemHandler, workAmount))
-                            .orElse(false);
-                    if (hasWorked) {
-                        return true;
-                    }
+                boolean hasWorked = NeighborCapabilityCache.getNeighborCapability(getComponentHarness(), world, pos, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, real)
+                        .map(iItemHandler -> transfer(sideness, this, iItemHandler, workAmount))
+                        .orElse(false);
+                if (hasWorked) {
+                    return true;
                 }
             }
         }
         for (FacingUtil.Sideness sideness : facingModes.keySet()) {
             if (facingModes.get(sideness).equals(FaceMode.PULL)) {
                 Direction real = FacingUtil.getFacingFromSide(blockFacing, sideness);
-                TileEntity entity = world.getTileEntity(pos.offset(real));
-                if (entity != null) {
-                    boolean hasWorked = entity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, real.getOpposite())
-                            .map(iItemHandler -> transfer(sideness, iItemHandler, this, workAmount))
-                            .orElse(false);
-                    if (hasWorked) {
-                        return true;
-                    }
+                boolean hasWorked = NeighborCapabilityCache.getNeighborCapability(getComponentHarness(), world, pos, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, real)
+                        .map(iItemHandler -> transfer(sideness, iItemHandler, this, workAmount))
+                        .orElse(false);
+                if (hasWorked) {
+                    return true;
                 }
             }
         }
         return false;
     }
 
+    private boolean workBatched(World world, BlockPos pos, Direction blockFacing, int budget) {
+        int moved = 0;
+        for (FaceMode mode : new FaceMode[]{FaceMode.PUSH, FaceMode.PULL}) {
+            for (FacingUtil.Sideness sideness : facingModes.keySet()) {
+                if (moved >= budget) return true;
+                if (!facingModes.get(sideness).equals(mode)) continue;
+                Direction real = FacingUtil.getFacingFromSide(blockFacing, sideness);
+                int remaining = budget - moved;
+                moved += NeighborCapabilityCache.getNeighborCapability(getComponentHarness(), world, pos, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, real)
+                        .map(iItemHandler -> mode == FaceMode.PUSH ? transferBatch(sideness, this, iItemHandler, remaining) : transferBatch(sideness, iItemHandler, this, remaining))
+                        .orElse(0);
+            }
+        }
+        return moved > 0;
+    }
+
     @Override
     public SidedInventoryComponent<T> setFacingHandlerPos(int x, int y) {
         this.facingHandlerX = x;
@@ -163,6 +201,11 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
         return validFaceModes;
     }
 
+    @Override
+    public FacingWorkBackoff getWorkBackoff() {
+        return workBackoff;
+    }
+
     public SidedInventoryComponent<T> setValidFaceModes(FaceMode... validFaceModes){
         this.validFaceModes = validFaceModes;
         for (FacingUtil.Sideness value : FacingUtil.Sideness.values()) {
@@ -171,6 +214,12 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
         return this;
     }
 
+    @Override
+    protected void onContentsChanged(int slot) {
+        super.onContentsChanged(slot);
+        workBackoff.wake();
+    }
+
     @Override
     public CompoundNBT serializeNBT() {
         CompoundNBT nbt = super.serializeNBT();
@@ -222,6 +271,39 @@ public class SidedInventoryComponent<T extends IComponentHarness> extends Invent
         return false;
     }
 
+    /**
+     * Moves up to the budget of items from several source slots, each extraction and insertion is simulated before it is executed.
+     * The source and destination slots where the last transfer of the side stopped are remembered so the next cycle continues from there.
+     *
+     * @return the amount of items moved
+     */
+    private int transferBatch(FacingUtil.Sideness sideness, IItemHandler from, IItemHandler to, int budget) {
+        int fromSlots = from.getSlots();
+        int toSlots = to.getSlots();
+        if (fromSlots <= 0 || toSlots <= 0) return 0;
+        int moved = 0;
+        int sourceStart = sourceSlotCursors[sideness.ordinal()] % fromSlots;
+        for (int i = 0; i < fromSlots && moved < budget; i++) {
+            int slot = (sourceStart + i) % fromSlots;
+            ItemStack extracted = from.extractItem(slot, budget - moved, true);
+            if (extracted.isEmpty()) continue;
+            int destinationStart = destinationSlotCursors[sideness.ordinal()] % toSlots;
+            for (int j = 0; j < toSlots && !extracted.isEmpty(); j++) {
+                int outSlot = (destinationStart + j) % toSlots;
+                int accepted = extracted.getCount() - to.insertItem(outSlot, extracted, true).getCount();
+                if (accepted <= 0) continue;
+                ItemStack returned = to.insertItem(outSlot, ItemHandlerHelper.copyStackWithSize(extracted, accepted), false);
+                int inserted = from.extractItem(slot, accepted - returned.getCount(), false).getCount();
+                moved += inserted;
+                destinationSlotCursors[sideness.ordinal()] = outSlot;
+                extracted = ItemHandlerHelper.copyStackWithSize(extracted, extracted.getCount() - inserted);
+                if (inserted < accepted) break;
+            }
+            sourceSlotCursors[sideness.ordinal()] = extracted.isEmpty() ? slot : (slot + 1) % fromSlots;
+        }
+        return moved;
+    }
+
     private int isValidForAnySlot(IItemHandler dest, ItemStack stack) {
         for (int i = 0; i < dest.getSlots(); i++) {
             if (!dest.isItemValid(i, stack)) continue;
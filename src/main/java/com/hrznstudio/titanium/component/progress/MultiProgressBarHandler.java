@@ -10,6 +10,7 @@ package com.hrznstudio.titanium.component.progress;
 import com.hrznstudio.titanium.api.IFactory;
 import com.hrznstudio.titanium.api.client.IScreenAddon;
 import com.hrznstudio.titanium.api.client.IScreenAddonProvider;
+import com.hrznstudio.titanium.block.tile.ActiveTile;
 import com.hrznstudio.titanium.component.IComponentHandler;
 import com.hrznstudio.titanium.component.IComponentHarness;
 import com.hrznstudio.titanium.container.addon.IContainerAddon;
@@ -22,31 +23,95 @@ import java.util.List;
 public class MultiProgressBarHandler<T extends IComponentHarness> implements IScreenAddonProvider, IContainerAddonProvider, IComponentHandler {
 
     private final List<ProgressBarComponent<T>> progressBarComponents;
+    private ProgressBarComponent<T>[] bars;
+    private int[] ticksLeft;
+    private int[] tickingTimes;
+    private boolean[] cannotIncrease;
 
     public MultiProgressBarHandler() {
         progressBarComponents = new ArrayList<>();
+        rebuild();
     }
 
     public void add(Object... components) {
         Arrays.stream(components).filter(this::accepts).forEach(o -> this.progressBarComponents.add((ProgressBarComponent<T>) o));
+        rebuild();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        this.bars = progressBarComponents.toArray(new ProgressBarComponent[0]);
+        this.ticksLeft = new int[bars.length];
+        this.tickingTimes = new int[bars.length];
+        this.cannotIncrease = new boolean[bars.length];
     }
 
     public void update() {
-        for (ProgressBarComponent<T> posWorkBar : progressBarComponents) {
-            if (posWorkBar.getCanIncrease().test(posWorkBar.getComponentHarness())) {
+        for (int i = 0; i < bars.length; i++) {
+            ProgressBarComponent<T> posWorkBar = bars[i];
+            // Counted on every update, even when the bar can't increase, so the countdown follows the game time
+            boolean canTick = canTick(i, posWorkBar);
+            if (!cannotIncrease[i] && posWorkBar.getCanIncrease().test(posWorkBar.getComponentHarness())) {
                 if (posWorkBar.getIncreaseType() && posWorkBar.getProgress() == 0) {
                     posWorkBar.onStart();
                 }
                 if (!posWorkBar.getIncreaseType() && posWorkBar.getProgress() == posWorkBar.getMaxProgress()) {
                     posWorkBar.onStart();
                 }
-                posWorkBar.tickBar();
-            } else if (posWorkBar.getCanReset().test(posWorkBar.getComponentHarness())) {
-                posWorkBar.setProgress(posWorkBar.getIncreaseType() ? 0 : posWorkBar.getMaxProgress());
+                posWorkBar.tickBar(canTick);
+            } else {
+                // Only ActiveTiles forget the cached result when they change, other harnesses check every tick
+                if (posWorkBar.isCanIncreaseCached() && posWorkBar.getComponentHarness() instanceof ActiveTile) cannotIncrease[i] = true;
+                int resetProgress = posWorkBar.getIncreaseType() ? 0 : posWorkBar.getMaxProgress();
+                if (posWorkBar.getProgress() != resetProgress && posWorkBar.getCanReset().test(posWorkBar.getComponentHarness())) {
+                    posWorkBar.setProgress(resetProgress);
+                }
             }
         }
     }
 
+    /**
+     * Checks if the bar reached its next ticking time, the game time is only looked up when the countdown to the next multiple of the ticking time runs out.
+     * The countdown assumes one update per tick, {@link #resyncTicking()} needs to be called when the harness skipped updates.
+     */
+    private boolean canTick(int index, ProgressBarComponent<T> bar) {
+        int tickingTime = bar.getTickingTime();
+        if (tickingTime <= 1) return true;
+        if (tickingTime == tickingTimes[index] && --ticksLeft[index] > 0) return false;
+        if (bar.getComponentHarness() == null) return false;
+        long remainder = bar.getComponentHarness().getComponentWorld().getGameTime() % tickingTime;
+        tickingTimes[index] = tickingTime;
+        ticksLeft[index] = (int) (tickingTime - remainder);
+        return remainder == 0;
+    }
+
+    /**
+     * Makes the bars look up the game time on their next update, called when the harness didn't update for a while like after sleeping
+     */
+    public void resyncTicking() {
+        Arrays.fill(tickingTimes, 0);
+    }
+
+    /**
+     * Gets if none of the bars can work until the harness changes, only bars that cache their {@link ProgressBarComponent#getCanIncrease()} check can be idle
+     *
+     * @return true if all the bars are idle
+     */
+    public boolean isIdle() {
+        for (int i = 0; i < bars.length; i++) {
+            ProgressBarComponent<T> bar = bars[i];
+            if (!cannotIncrease[i] || bar.getProgress() != (bar.getIncreaseType() ? 0 : bar.getMaxProgress())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the cached failed {@link ProgressBarComponent#getCanIncrease()} checks, called when a component or a neighbour of the harness changes
+     */
+    public void invalidateCanIncrease() {
+        Arrays.fill(cannotIncrease, false);
+    }
+
     @Override
     public List<IFactory<? extends IScreenAddon>> getScreenAddons() {
         List<IFactory<? extends IScreenAddon>> list = new ArrayList<>();
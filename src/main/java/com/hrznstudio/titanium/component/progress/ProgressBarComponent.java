@@ -52,6 +52,14 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
     private BarDirection barDirection;
     private DyeColor color;
     private boolean increaseType;
+    private boolean canIncreaseCached;
+    private boolean predictiveSync;
+    private int syncProgress;
+    private long syncTime;
+    private int syncRate;
+    private int syncTickingTime;
+    private long lastTickTime;
+    private long lastPredictionTime;
 
     public ProgressBarComponent(int posX, int posY, int maxProgress) {
         this.posX = posX;
@@ -71,6 +79,10 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
         this.barDirection = BarDirection.VERTICAL_UP;
         this.color = DyeColor.WHITE;
         this.increaseType = true;
+        this.syncTime = -1;
+        this.syncTickingTime = 1;
+        this.lastTickTime = -1;
+        this.lastPredictionTime = -1;
     }
 
     public ProgressBarComponent(int posX, int posY, int progress, int maxProgress) {
@@ -170,13 +182,24 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
      * Ticks the bar so it can increase if possible, managed by {@link MultiProgressBarHandler#update()}
      */
     public void tickBar() {
-        if (componentHarness != null && componentHarness.getComponentWorld().getGameTime() % tickingTime == 0) {
+        tickBar(componentHarness != null && componentHarness.getComponentWorld().getGameTime() % tickingTime == 0);
+    }
+
+    /**
+     * Ticks the bar, the progress only changes if it is a ticking time of the bar
+     *
+     * @param canTick If the current tick is a ticking time of the bar
+     */
+    public void tickBar(boolean canTick) {
+        if (canTick) {
             if (increaseType && progress < maxProgress) {
                 setProgress(this.progress + progressIncrease);
+                onProgressTicked();
                 this.onTickWork.run();
             }
             if (!increaseType && progress > 0) {
                 setProgress(this.progress - progressIncrease);
+                onProgressTicked();
                 this.onTickWork.run();
             }
         }
@@ -229,11 +252,35 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
     }
 
     /**
-     * Gets the current progress
+     * Gets if a failed {@link #getCanIncrease()} check is kept until the harness changes
+     *
+     * @return True if the result is cached
+     */
+    public boolean isCanIncreaseCached() {
+        return canIncreaseCached;
+    }
+
+    /**
+     * Keeps a failed {@link #getCanIncrease()} check until a component or a neighbour of the harness changes instead of testing it every tick.
+     * Only enable it if the predicate depends on the components of the harness or its neighbours.
+     *
+     * @param canIncreaseCached True to cache the result
+     * @return Self
+     */
+    public ProgressBarComponent<T> setCanIncreaseCached(boolean canIncreaseCached) {
+        this.canIncreaseCached = canIncreaseCached;
+        return this;
+    }
+
+    /**
+     * Gets the current progress, on the client bars with predictive sync return the progress predicted for the current game time
      *
      * @return The progress
      */
     public int getProgress() {
+        if (predictiveSync && syncTime >= 0 && componentHarness != null && componentHarness.getComponentWorld().isRemote) {
+            this.progress = getPredictedProgress(componentHarness.getComponentWorld().getGameTime());
+        }
         return progress;
     }
 
@@ -347,6 +394,101 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
         return this;
     }
 
+    /**
+     * Gets if the bar is synced to open containers as a prediction instead of every progress change
+     *
+     * @return True if the bar uses predictive sync
+     */
+    public boolean isPredictiveSync() {
+        return predictiveSync;
+    }
+
+    /**
+     * Syncs the bar to the open containers as the progress, the game time and the rate it changes at, the client interpolates the progress from them.
+     * The values are only sent again when the bar doesn't follow the prediction, like when it pauses, resumes or resets.
+     * It needs to be set on both sides as it changes the values synced by the container.
+     *
+     * @param predictiveSync True to use predictive sync
+     * @return Self
+     */
+    public ProgressBarComponent<T> setPredictiveSync(boolean predictiveSync) {
+        this.predictiveSync = predictiveSync;
+        return this;
+    }
+
+    private void onProgressTicked() {
+        if (predictiveSync && componentHarness != null) {
+            this.lastTickTime = componentHarness.getComponentWorld().getGameTime();
+        }
+    }
+
+    /**
+     * Starts a new prediction from the current progress if the bar stopped following the last one, done on the server before syncing the container.
+     * It is only checked once per game tick no matter how many containers sync the bar.
+     */
+    public void updateSyncPrediction() {
+        if (componentHarness == null) return;
+        long gameTime = componentHarness.getComponentWorld().getGameTime();
+        if (gameTime == lastPredictionTime) return;
+        this.lastPredictionTime = gameTime;
+        if (syncTime >= 0 && syncTickingTime == Math.max(tickingTime, 1) && getPredictedProgress(gameTime) == progress) return;
+        boolean running = lastTickTime >= 0 && gameTime - lastTickTime <= Math.max(tickingTime, 1);
+        this.syncProgress = progress;
+        this.syncTime = gameTime;
+        this.syncTickingTime = Math.max(tickingTime, 1);
+        this.syncRate = running ? (increaseType ? progressIncrease : -progressIncrease) : 0;
+    }
+
+    private int getPredictedProgress(long gameTime) {
+        long steps = Math.floorDiv(gameTime, syncTickingTime) - Math.floorDiv(syncTime, syncTickingTime);
+        return (int) Math.max(0, Math.min(maxProgress, syncProgress + syncRate * steps));
+    }
+
+    /**
+     * Gets the progress interpolated from the last synced prediction, used by the client to render the bar
+     *
+     * @param gameTime     The current game time
+     * @param partialTicks The partial ticks of the frame
+     * @return the interpolated progress
+     */
+    public double getPredictedProgress(long gameTime, float partialTicks) {
+        if (syncTime < 0) return progress;
+        double steps = (gameTime - syncTime + partialTicks) / syncTickingTime;
+        return Math.max(0, Math.min(maxProgress, syncProgress + syncRate * steps));
+    }
+
+    public int getSyncProgress() {
+        return syncProgress;
+    }
+
+    public long getSyncTime() {
+        return syncTime;
+    }
+
+    public int getSyncRate() {
+        return syncRate;
+    }
+
+    public int getSyncTickingTime() {
+        return syncTickingTime;
+    }
+
+    /**
+     * Sets the prediction received from the server, the progress is updated to the predicted one so it can be read from {@link #getProgress()}
+     *
+     * @param syncProgress    The progress when the prediction started
+     * @param syncTime        The game time when the prediction started
+     * @param syncRate        How much the progress changes every ticking time, 0 if the bar is paused
+     * @param syncTickingTime The ticking time of the bar
+     */
+    public void setSyncPrediction(int syncProgress, long syncTime, int syncRate, int syncTickingTime) {
+        this.syncProgress = syncProgress;
+        this.syncTime = syncTime;
+        this.syncRate = syncRate;
+        this.syncTickingTime = Math.max(syncTickingTime, 1);
+        if (syncTime >= 0 && componentHarness != null) this.progress = getPredictedProgress(componentHarness.getComponentWorld().getGameTime());
+    }
+
     /**
      * Gets the Gui Addons that it will be added to the machine GUI
      *
@@ -401,9 +543,9 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
                 offset = asset.getOffset();
                 area = asset.getArea();
                 screen.getMinecraft().getTextureManager().bindTexture(asset.getResourceLocation());
-                int progress = addon.getProgressBar().getProgress();
+                double progress = addon.getProgress();
                 int maxProgress = addon.getProgressBar().getMaxProgress();
-                int progressOffset = progress * area.height / Math.max(maxProgress, 1);
+                int progressOffset = (int) (progress * area.height / Math.max(maxProgress, 1));
                 screen.blit(stack, addon.getPosX() + offset.x + guiX,
                     addon.getPosY() + offset.y + area.height - progressOffset + guiY,
                     area.x,
@@ -431,9 +573,9 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
                 Point offset = asset.getOffset();
                 Rectangle area = asset.getArea();
                 screen.getMinecraft().getTextureManager().bindTexture(asset.getResourceLocation());
-                int progress = addon.getProgressBar().getProgress();
+                double progress = addon.getProgress();
                 int maxProgress = addon.getProgressBar().getMaxProgress();
-                int progressOffset = progress * area.width / Math.max(maxProgress, 1);
+                int progressOffset = (int) (progress * area.width / Math.max(maxProgress, 1));
                 RenderSystem.color4f(addon.getProgressBar().getColor().getColorComponentValues()[0], addon.getProgressBar().getColor().getColorComponentValues()[1], addon.getProgressBar().getColor().getColorComponentValues()[2], 1);
                 screen.blit(stack, addon.getPosX() + offset.x + guiX, addon.getPosY() + offset.y + guiY, area.x, area.y, progressOffset, area.height);
                 RenderSystem.color4f(1, 1, 1, 1);
@@ -458,9 +600,9 @@ public class ProgressBarComponent<T extends IComponentHarness> implements INBTSe
                 Point offset = asset.getOffset();
                 Rectangle area = asset.getArea();
                 screen.getMinecraft().getTextureManager().bindTexture(asset.getResourceLocation());
-                int progress = addon.getProgressBar().getProgress();
+                double progress = addon.getProgress();
                 int maxProgress = addon.getProgressBar().getMaxProgress();
-                int progressOffset = progress * area.height / Math.max(maxProgress, 1);
+                int progressOffset = (int) (progress * area.height / Math.max(maxProgress, 1));
                 RenderSystem.color4f(addon.getProgressBar().getColor().getColorComponentValues()[0], addon.getProgressBar().getColor().getColorComponentValues()[1], addon.getProgressBar().getColor().getColorComponentValues()[2], 1);
                 screen.blit(stack, addon.getPosX() + offset.x + guiX, addon.getPosY() + offset.y + guiY, area.x, area.y, area.width, progressOffset);
                 RenderSystem.color4f(1, 1, 1, 1);
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.component.sideness;
+
+/**
+ * Keeps track of how many work cycles an {@link IFacingComponent} should skip, every failed work cycle doubles the amount of skipped cycles
+ * up to a max, a successful one or a wake up makes it work every cycle again.
+ */
+public class FacingWorkBackoff {
+
+    /**
+     * Vanilla only notifies the horizontal neighbours when the contents of a tile change, so changes above or below can only be picked up by
+     * working again, this keeps that delay short (4 cycles of {@link com.hrznstudio.titanium.block.tile.ActiveTile#getFacingHandlerWorkTime()} ticks)
+     */
+    public static final int DEFAULT_MAX_SKIPPED_CYCLES = 4;
+
+    private final int maxSkippedCycles;
+    private int skippedCycles;
+    private int cyclesLeft;
+
+    public FacingWorkBackoff() {
+        this(DEFAULT_MAX_SKIPPED_CYCLES);
+    }
+
+    public FacingWorkBackoff(int maxSkippedCycles) {
+        this.maxSkippedCycles = maxSkippedCycles;
+        this.skippedCycles = 0;
+        this.cyclesLeft = 0;
+    }
+
+    /**
+     * Consumes a work cycle
+     *
+     * @return true if the component should work this cycle
+     */
+    public boolean shouldWork() {
+        if (cyclesLeft > 0) {
+            --cyclesLeft;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Updates the amount of cycles to skip with the result of a work cycle
+     *
+     * @param worked if the component managed to move something
+     */
+    public void onWorkResult(boolean worked) {
+        if (worked) {
+            skippedCycles = 0;
+        } else {
+            skippedCycles = Math.min(Math.max(skippedCycles * 2, 1), maxSkippedCycles);
+        }
+        cyclesLeft = skippedCycles;
+    }
+
+    /**
+     * @return true if the last work cycle of the component failed
+     */
+    public boolean isBackingOff() {
+        return skippedCycles > 0;
+    }
+
+    /**
+     * Makes the component work on the next cycle, used when something happened that could make the work succeed
+     */
+    public void wake() {
+        skippedCycles = 0;
+        cyclesLeft = 0;
+    }
+}
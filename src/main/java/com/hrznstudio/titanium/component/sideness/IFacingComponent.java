@@ -17,6 +17,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.Map;
 
@@ -40,6 +41,16 @@ public interface IFacingComponent {
 
     FaceMode[] getValidFacingModes();
 
+    /**
+     * Gets the backoff used to skip work cycles while the component can't move anything
+     *
+     * @return the backoff or null if the component should work every cycle
+     */
+    @Nullable
+    default FacingWorkBackoff getWorkBackoff() {
+        return null;
+    }
+
     enum FaceMode {
         NONE(false, 0, AssetTypes.BUTTON_SIDENESS_DISABLED, TextFormatting.RED),
         ENABLED(true, 1, AssetTypes.BUTTON_SIDENESS_ENABLED, TextFormatting.GREEN),
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.component.sideness;
+
+import com.hrznstudio.titanium.block.tile.ActiveTile;
+import com.hrznstudio.titanium.component.IComponentHarness;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the capabilities exposed by the neighbours of a tile so repeated queries don't need to look up the tiles in the world.
+ * Present capabilities stay cached until the neighbour invalidates them, a single listener is added to each of them no matter how many times they are cached again.
+ * A missing neighbour tile stays cached until {@link #invalidate(BlockPos)} is called from a change of that neighbour.
+ * A neighbour tile that doesn't expose the capability isn't cached, it can start exposing it without a block update (like a side configuration change) so it is looked up on every query.
+ */
+public class NeighborCapabilityCache {
+
+    private final TileEntity tile;
+    private final Map<Capability<?>, LazyOptional<?>[]> cache;
+    private final Set<LazyOptional<?>> listenedOptionals;
+
+    public NeighborCapabilityCache(TileEntity tile) {
+        this.tile = tile;
+        this.cache = new IdentityHashMap<>();
+        this.listenedOptionals = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Gets the capability exposed by the neighbour in the given direction
+     *
+     * @param capability The capability to look for
+     * @param direction  The direction of the neighbour from the tile
+     * @return the capability of the neighbour for the facing side
+     */
+    @Nonnull
+    public <T> LazyOptional<T> get(Capability<T> capability, Direction direction) {
+        LazyOptional<?>[] optionals = cache.computeIfAbsent(capability, cap -> new LazyOptional<?>[Direction.values().length]);
+        LazyOptional<?> optional = optionals[direction.ordinal()];
+        if (optional == null) {
+            optional = resolve(optionals, capability, direction);
+        }
+        return optional.cast();
+    }
+
+    private <T> LazyOptional<?> resolve(LazyOptional<?>[] optionals, Capability<T> capability, Direction direction) {
+        World world = tile.getWorld();
+        if (world == null) return LazyOptional.empty();
+        BlockPos neighbor = tile.getPos().offset(direction);
+        if (!world.isBlockLoaded(neighbor)) return LazyOptional.empty();
+        TileEntity entity = world.getTileEntity(neighbor);
+        if (entity == null) {
+            optionals[direction.ordinal()] = LazyOptional.empty();
+            return LazyOptional.empty();
+        }
+        LazyOptional<T> optional = entity.getCapability(capability, direction.getOpposite());
+        if (optional.isPresent()) {
+            optionals[direction.ordinal()] = optional;
+            if (listenedOptionals.add(optional)) optional.addListener(this::onInvalidated);
+            return optional;
+        }
+        return LazyOptional.empty();
+    }
+
+    private void onInvalidated(LazyOptional<?> invalidated) {
+        listenedOptionals.remove(invalidated);
+        for (LazyOptional<?>[] optionals : cache.values()) {
+            for (int i = 0; i < optionals.length; i++) {
+                if (optionals[i] == invalidated) optionals[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the capability exposed by the neighbour of a component, using the cache of the harness when it has one
+     *
+     * @param harness    The harness of the component
+     * @param world      The world of the component
+     * @param pos        The position of the component
+     * @param capability The capability to look for
+     * @param direction  The direction of the neighbour from the component
+     * @return the capability of the neighbour for the facing side
+     */
+    @Nonnull
+    public static <T> LazyOptional<T> getNeighborCapability(@Nullable IComponentHarness harness, World world, BlockPos pos, Capability<T> capability, Direction direction) {
+        if (harness instanceof ActiveTile && ((ActiveTile<?>) harness).getPos().equals(pos)) {
+            return ((ActiveTile<?>) harness).getNeighborCapabilityCache().get(capability, direction);
+        }
+        TileEntity entity = world.getTileEntity(pos.offset(direction));
+        return entity == null ? LazyOptional.empty() : entity.getCapability(capability, direction.getOpposite());
+    }
+
+    /**
+     * Forgets the missing neighbour tile cached for a position, present capabilities are kept as the neighbour invalidates them itself when they change
+     *
+     * @param fromPos The position of the neighbour that changed
+     */
+    public void invalidate(BlockPos fromPos) {
+        BlockPos pos = tile.getPos();
+        Direction direction = Direction.byLong(fromPos.getX() - pos.getX(), fromPos.getY() - pos.getY(), fromPos.getZ() - pos.getZ());
+        if (direction == null) return;
+        for (LazyOptional<?>[] optionals : cache.values()) {
+            LazyOptional<?> optional = optionals[direction.ordinal()];
+            if (optional != null && !optional.isPresent()) optionals[direction.ordinal()] = null;
+        }
+    }
+
+    /**
+     * Forgets all the cached capabilities, they will be looked up again on the next query
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+}
@@ -10,6 +10,10 @@ package com.hrznstudio.titanium.container.referenceholder;
 import com.hrznstudio.titanium.component.progress.ProgressBarComponent;
 import net.minecraft.util.IIntArray;
 
+/**
+ * Syncs a {@link ProgressBarComponent} to the client, bars with {@link ProgressBarComponent#isPredictiveSync()} send their prediction instead of every progress change.
+ * Container data is sent as shorts so the game time of the prediction only keeps its lower 16 bits, the client rebuilds it from its own game time.
+ */
 public class ProgressBarReferenceHolder implements IIntArray {
     private final ProgressBarComponent<?> progressBarComponent;
 
@@ -19,6 +23,20 @@ public class ProgressBarReferenceHolder implements IIntArray {
 
     @Override
     public int get(int index) {
+        if (progressBarComponent.isPredictiveSync()) {
+            switch (index) {
+                case 0:
+                    // The container reads the values in order, the prediction is updated once for all of them
+                    progressBarComponent.updateSyncPrediction();
+                    return progressBarComponent.getSyncProgress();
+                case 3:
+                    return (int) (progressBarComponent.getSyncTime() & 0xFFFF);
+                case 4:
+                    return progressBarComponent.getSyncRate();
+                case 5:
+                    return progressBarComponent.getSyncTickingTime();
+            }
+        }
         if (index == 0) {
             return progressBarComponent.getProgress();
         } else if (index == 1) {
@@ -30,6 +48,23 @@ public class ProgressBarReferenceHolder implements IIntArray {
 
     @Override
     public void set(int index, int value) {
+        if (progressBarComponent.isPredictiveSync()) {
+            switch (index) {
+                case 0:
+                    progressBarComponent.setSyncPrediction(value, progressBarComponent.getSyncTime(), progressBarComponent.getSyncRate(), progressBarComponent.getSyncTickingTime());
+                    return;
+                case 3:
+                    long gameTime = progressBarComponent.getComponentHarness() == null ? 0 : progressBarComponent.getComponentHarness().getComponentWorld().getGameTime();
+                    progressBarComponent.setSyncPrediction(progressBarComponent.getSyncProgress(), gameTime - ((gameTime - value) & 0xFFFF), progressBarComponent.getSyncRate(), progressBarComponent.getSyncTickingTime());
+                    return;
+                case 4:
+                    progressBarComponent.setSyncPrediction(progressBarComponent.getSyncProgress(), progressBarComponent.getSyncTime(), value, progressBarComponent.getSyncTickingTime());
+                    return;
+                case 5:
+                    progressBarComponent.setSyncPrediction(progressBarComponent.getSyncProgress(), progressBarComponent.getSyncTime(), progressBarComponent.getSyncRate(), value);
+                    return;
+            }
+        }
         if (index == 0) {
             progressBarComponent.setProgress(value);
         } else if (index == 1) {
@@ -41,6 +76,6 @@ public class ProgressBarReferenceHolder implements IIntArray {
 
     @Override
     public int size() {
-        return 3;
+        return progressBarComponent.isPredictiveSync() ? 6 : 3;
     }
 }
@@ -13,23 +13,27 @@ import com.hrznstudio.titanium.api.filter.FilterAction;
 import com.hrznstudio.titanium.api.filter.FilterSlot;
 import com.hrznstudio.titanium.api.filter.IFilter;
 import com.hrznstudio.titanium.client.screen.addon.ItemstackFilterScreenAddon;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 @SuppressWarnings("unchecked")
 public class ItemStackFilter implements IFilter<ItemStack> {
-    private static FilterAction<ItemStack> SIMPLE = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqual(itemStackFilterSlot.getFilter())));
-    private static FilterAction<ItemStack> IGNORE_DURABILITY = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqualIgnoreDurability(itemStackFilterSlot.getFilter())));
-    private static FilterAction<ItemStack> DURABILITY_LESS_50 = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqual(itemStackFilterSlot.getFilter())) && stack.getDamage() < stack.getMaxDamage() / 50);
-    private static FilterAction<ItemStack> DAMAGED = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqual(itemStackFilterSlot.getFilter())) && stack.getDamage() < stack.getMaxDamage());
-    private static FilterAction<ItemStack> NOT_DAMAGED = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqual(itemStackFilterSlot.getFilter())) && stack.getDamage() == stack.getMaxDamage());
-    private static FilterAction<ItemStack> DURABILITY_MORE_50 = new FilterAction<>((itemStackIFilter, stack) -> Arrays.stream(itemStackIFilter.getFilterSlots()).anyMatch(itemStackFilterSlot -> stack.isItemEqual(itemStackFilterSlot.getFilter())) && stack.getDamage() > stack.getMaxDamage() / 50);
+    private static FilterAction<ItemStack> SIMPLE = new FilterAction<>(ItemStackFilter::containsItem);
+    private static FilterAction<ItemStack> IGNORE_DURABILITY = new FilterAction<>((itemStackIFilter, stack) -> containsItemIgnoreDurability(itemStackIFilter, stack));
+    private static FilterAction<ItemStack> DURABILITY_LESS_50 = new FilterAction<>((itemStackIFilter, stack) -> containsItem(itemStackIFilter, stack) && stack.getDamage() < stack.getMaxDamage() / 50);
+    private static FilterAction<ItemStack> DAMAGED = new FilterAction<>((itemStackIFilter, stack) -> containsItem(itemStackIFilter, stack) && stack.getDamage() < stack.getMaxDamage());
+    private static FilterAction<ItemStack> NOT_DAMAGED = new FilterAction<>((itemStackIFilter, stack) -> containsItem(itemStackIFilter, stack) && stack.getDamage() == stack.getMaxDamage());
+    private static FilterAction<ItemStack> DURABILITY_MORE_50 = new FilterAction<>((itemStackIFilter, stack) -> containsItem(itemStackIFilter, stack) && stack.getDamage() > stack.getMaxDamage() / 50);
     private static FilterAction<ItemStack>[] ACTIONS = new FilterAction[]{SIMPLE, IGNORE_DURABILITY, DURABILITY_LESS_50, DAMAGED, NOT_DAMAGED, DURABILITY_MORE_50};
     private final FilterSlot<ItemStack>[] filter;
+    private final Set<Item> filterItems;
 
     private Type type;
     private int pointer;
@@ -38,6 +42,7 @@ public class ItemStackFilter implements IFilter<ItemStack> {
     public ItemStackFilter(String name, int filterSize) {
         this.name = name;
         this.filter = new FilterSlot[filterSize];
+        this.filterItems = Collections.newSetFromMap(new IdentityHashMap<>());
         this.type = Type.WHITELIST;
         this.pointer = 0;
     }
@@ -58,6 +63,7 @@ public class ItemStackFilter implements IFilter<ItemStack> {
             throw new RuntimeException("Filter slot " + slot + " not in valid range - [0," + filter.length + ")");
         }
         filter[slot].setFilter(stack);
+        rebuildIndex();
         onContentChanged();
     }
 
@@ -67,6 +73,46 @@ public class ItemStackFilter implements IFilter<ItemStack> {
             throw new RuntimeException("Filter slot " + slot + " not in valid range - [0," + filter.length + ")");
         }
         this.filter[slot] = filterSlot;
+        rebuildIndex();
+    }
+
+    @Override
+    public boolean matches(ItemStack object) {
+        boolean matches = getAction().getFilterCheck().test(this, object);
+        return type == Type.WHITELIST ? matches : !matches;
+    }
+
+    /**
+     * Rebuilds the set of filtered items, it needs to be called if a {@link FilterSlot} is changed without going through the filter
+     */
+    public void rebuildIndex() {
+        filterItems.clear();
+        for (FilterSlot<ItemStack> filterSlot : filter) {
+            if (filterSlot != null && !filterSlot.getFilter().isEmpty()) filterItems.add(filterSlot.getFilter().getItem());
+        }
+    }
+
+    /**
+     * Checks if the stack is the same item as any of the filter slots, in the same way {@link ItemStack#isItemEqual(ItemStack)} compares them
+     */
+    private static boolean containsItem(IFilter<ItemStack> filter, ItemStack stack) {
+        if (filter instanceof ItemStackFilter) {
+            return ((ItemStackFilter) filter).filterItems.contains(stack.getItem());
+        }
+        for (FilterSlot<ItemStack> filterSlot : filter.getFilterSlots()) {
+            if (stack.isItemEqual(filterSlot.getFilter())) return true;
+        }
+        return false;
+    }
+
+    private static boolean containsItemIgnoreDurability(IFilter<ItemStack> filter, ItemStack stack) {
+        if (filter instanceof ItemStackFilter) {
+            return ((ItemStackFilter) filter).filterItems.contains(stack.getItem());
+        }
+        for (FilterSlot<ItemStack> filterSlot : filter.getFilterSlots()) {
+            if (stack.isItemEqualIgnoreDurability(filterSlot.getFilter())) return true;
+        }
+        return false;
     }
 
     @Override
@@ -123,6 +169,7 @@ public class ItemStackFilter implements IFilter<ItemStack> {
             this.filter[Integer.parseInt(key)].setFilter(ItemStack.read(filter.getCompound(key)));
         }
         this.type = Type.valueOf(nbt.getString("Type"));
+        rebuildIndex();
     }
 
     @Override
@@ -11,6 +11,31 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.util.ResourceLocation;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
 public interface IJsonProvider<T> {
     T provide(ResourceLocation key, JsonObject jsonObject) throws JsonParseException;
+
+    /**
+     * Declares secondary indexes for the provided values, by index name, that directors like {@link com.hrznstudio.titanium.json.jsondirector.MapJsonDirector} build on every reload.
+     * Each function returns the keys a value can be looked up by, for example the items or tags it applies to.
+     *
+     * @return the index functions by name
+     */
+    default Map<String, Function<T, Collection<?>>> getIndexes() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Gets if the jsons can be provided in the preparing stage of the reload, off the server thread.
+     * Providers that read tags, recipes or other data reloaded in the same cycle must keep this false, those are only up to date once the reload applies.
+     *
+     * @return true to provide the jsons while the reload prepares
+     */
+    default boolean canProvideOffThread() {
+        return false;
+    }
 }
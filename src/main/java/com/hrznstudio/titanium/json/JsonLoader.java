@@ -7,6 +7,7 @@
 
 package com.hrznstudio.titanium.json;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.hrznstudio.titanium.json.jsondirector.IJsonDirector;
@@ -14,18 +15,46 @@ import net.minecraft.client.resources.JsonReloadListener;
 import net.minecraft.profiler.IProfiler;
 import net.minecraft.resources.IResourceManager;
 import net.minecraft.util.ResourceLocation;
-import net.minecraft.util.Tuple;
 import org.apache.logging.log4j.Logger;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Loads the jsons of a folder from the datapacks, every file is provided in parallel on a shared pool sized to the cores.
+ * Files that fail are reported and skipped without failing the rest, the results are handed to the {@link IJsonDirector} at once when all of them are done.
+ * Providers that {@link IJsonProvider#canProvideOffThread()} are run while the reload prepares so applying it only publishes the results.
+ *
+ * @param <T> The type the jsons are provided as
+ */
 @ParametersAreNonnullByDefault
 public class JsonLoader<T> extends JsonReloadListener {
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static ExecutorService executor;
+
     private final IJsonDirector<T> director;
     private final String type;
     private final Logger logger;
     private final IJsonProvider<T> jsonProvider;
+    private long lastLoadTime;
+    private Map<String, Long> lastNamespaceTimes = Collections.emptyMap();
+    private Map<ResourceLocation, Throwable> lastFailures = Collections.emptyMap();
+    @Nullable
+    private volatile Load<T> prepared;
 
     public JsonLoader(String type, Logger logger, IJsonDirector<T> director, IJsonProvider<T> jsonProvider) {
         super(new Gson(), type);
@@ -35,17 +64,99 @@ public class JsonLoader<T> extends JsonReloadListener {
         this.jsonProvider = jsonProvider;
     }
 
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREADS, new ThreadFactoryBuilder().setNameFormat("Titanium Json Loader %d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
     private ResourceLocation transformRL(ResourceLocation resource) {
         return new ResourceLocation(resource.getNamespace(), resource.getPath().replace(type + "/", ""));
     }
 
+    @Override
+    protected Map<ResourceLocation, JsonElement> prepare(IResourceManager resourceManagerIn, IProfiler profilerIn) {
+        Map<ResourceLocation, JsonElement> jsons = super.prepare(resourceManagerIn, profilerIn);
+        this.prepared = jsonProvider.canProvideOffThread() ? load(jsons) : null;
+        return jsons;
+    }
+
     @Override
     protected void apply(Map<ResourceLocation, JsonElement> ts, IResourceManager resourceManagerIn, IProfiler profilerIn) {
-        director.clear();
-        ts.entrySet()
-            .parallelStream()
-            .map(entry -> new Tuple<>(entry.getKey(), jsonProvider.provide(entry.getKey(), entry.getValue().getAsJsonObject())))
-            .forEach(tuple -> director.put(tuple.getA(), tuple.getB()));
-        logger.info("Loaded " + ts.size() + " " + type);
+        Load<T> load = prepared;
+        this.prepared = null;
+        if (load == null) load = load(ts);
+        director.replaceAll(load.staging);
+        load.failures.forEach((resourceLocation, throwable) -> logger.error("Couldn't load " + type + " " + resourceLocation, throwable));
+        Map<String, Long> times = new TreeMap<>();
+        load.namespaceTimes.forEach((namespace, time) -> times.put(namespace, TimeUnit.NANOSECONDS.toMillis(time.sum())));
+        times.forEach((namespace, time) -> logger.debug("Provided " + type + " from " + namespace + " in " + time + "ms"));
+        this.lastLoadTime = load.time;
+        this.lastNamespaceTimes = Collections.unmodifiableMap(times);
+        this.lastFailures = Collections.unmodifiableMap(new HashMap<>(load.failures));
+        logger.info("Loaded " + load.staging.size() + " " + type + " in " + lastLoadTime + "ms" + (load.failures.isEmpty() ? "" : ", " + load.failures.size() + " failed"));
+    }
+
+    private Load<T> load(Map<ResourceLocation, JsonElement> ts) {
+        long start = System.nanoTime();
+        Load<T> load = new Load<>();
+        List<Map.Entry<ResourceLocation, JsonElement>> entries = new ArrayList<>(ts.entrySet());
+        int chunkSize = Math.max(1, (entries.size() + THREADS * 4 - 1) / (THREADS * 4));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i += chunkSize) {
+            List<Map.Entry<ResourceLocation, JsonElement>> chunk = entries.subList(i, Math.min(entries.size(), i + chunkSize));
+            tasks.add(() -> {
+                for (Map.Entry<ResourceLocation, JsonElement> entry : chunk) {
+                    long fileStart = System.nanoTime();
+                    try {
+                        T value = jsonProvider.provide(entry.getKey(), entry.getValue().getAsJsonObject());
+                        if (value != null) load.staging.put(entry.getKey(), value);
+                    } catch (Exception e) {
+                        load.failures.put(entry.getKey(), e);
+                    }
+                    load.namespaceTimes.computeIfAbsent(entry.getKey().getNamespace(), namespace -> new LongAdder()).add(System.nanoTime() - fileStart);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : getExecutor().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Couldn't load " + type, e);
+        }
+        load.time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return load;
+    }
+
+    /**
+     * @return the time the last load took in milliseconds
+     */
+    public long getLastLoadTime() {
+        return lastLoadTime;
+    }
+
+    /**
+     * @return the time spent providing the files of each namespace in the last load, in milliseconds added across all threads
+     */
+    public Map<String, Long> getLastNamespaceTimes() {
+        return lastNamespaceTimes;
+    }
+
+    /**
+     * @return the files that failed in the last load and the reason
+     */
+    public Map<ResourceLocation, Throwable> getLastFailures() {
+        return lastFailures;
+    }
+
+    private static class Load<T> {
+
+        private final Map<ResourceLocation, T> staging = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> namespaceTimes = new ConcurrentHashMap<>();
+        private final Map<ResourceLocation, Throwable> failures = new ConcurrentHashMap<>();
+        private long time;
     }
 }
@@ -9,8 +9,22 @@ package com.hrznstudio.titanium.json.jsondirector;
 
 import net.minecraft.util.ResourceLocation;
 
+import java.util.Map;
+
 public interface IJsonDirector<T> {
     void put(ResourceLocation resourceLocation, T value);
 
     void clear();
+
+    /**
+     * Replaces all the values of the director with the given ones, used by {@link com.hrznstudio.titanium.json.JsonLoader} once all the files of a reload are loaded.
+     * The default clears the director and puts the values one by one, so readers on other threads can see it empty or half loaded while it runs.
+     * Directors read outside of the server thread must override it to build the new contents first and swap them in at once, like {@link MapJsonDirector}.
+     *
+     * @param values The new values
+     */
+    default void replaceAll(Map<ResourceLocation, T> values) {
+        clear();
+        values.forEach(this::put);
+    }
 }
@@ -7,24 +7,164 @@
 
 package com.hrznstudio.titanium.json.jsondirector;
 
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.hrznstudio.titanium.json.IJsonProvider;
 import net.minecraft.util.ResourceLocation;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * A director that publishes its values as an immutable {@link Snapshot} on every change, so they can be read from any thread without locking while a reload happens.
+ * Secondary indexes declared by a {@link IJsonProvider} are rebuilt together with each snapshot.
+ * When created with a map the values are also copied into it for code that reads the map directly, that map is cleared and refilled in place so reading it isn't safe during a reload, use {@link #getSnapshot()} instead.
+ *
+ * @param <T> The type of the values
+ */
 public class MapJsonDirector<T> implements IJsonDirector<T> {
+    @Nullable
     private final Map<ResourceLocation, T> map;
+    private final Map<String, Function<T, Collection<?>>> indexes;
+    private volatile Snapshot<T> snapshot;
 
     public MapJsonDirector(Map<ResourceLocation, T> map) {
+        this(map, Collections.emptyMap());
+    }
+
+    public MapJsonDirector(IJsonProvider<T> provider) {
+        this(null, provider.getIndexes());
+    }
+
+    public MapJsonDirector() {
+        this(null, Collections.emptyMap());
+    }
+
+    private MapJsonDirector(@Nullable Map<ResourceLocation, T> map, Map<String, Function<T, Collection<?>>> indexes) {
         this.map = map;
+        this.indexes = new LinkedHashMap<>(indexes);
+        this.snapshot = new Snapshot<>(Collections.emptyMap(), this.indexes);
     }
 
+    /**
+     * Adds a secondary index, it is available from the next change of the values.
+     *
+     * @param name The index name
+     * @param keys The keys a value can be looked up by
+     * @return itself
+     */
+    public synchronized MapJsonDirector<T> addIndex(String name, Function<T, Collection<?>> keys) {
+        this.indexes.put(name, keys);
+        return this;
+    }
+
+    /**
+     * Adds a single value, each call copies all the values and rebuilds every index so it is O(n) and adding many values one by one is quadratic.
+     * Use {@link #replaceAll(Map)} to set many values at once.
+     *
+     * @param resourceLocation The id of the value
+     * @param value            The value
+     */
     @Override
-    public void put(ResourceLocation resourceLocation, T value) {
-        map.put(resourceLocation, value);
+    public synchronized void put(ResourceLocation resourceLocation, T value) {
+        Map<ResourceLocation, T> values = new LinkedHashMap<>(snapshot.values);
+        values.put(resourceLocation, value);
+        if (map != null) map.put(resourceLocation, value);
+        this.snapshot = new Snapshot<>(values, indexes);
     }
 
     @Override
-    public void clear() {
-        map.clear();
+    public synchronized void clear() {
+        if (map != null) map.clear();
+        this.snapshot = new Snapshot<>(Collections.emptyMap(), indexes);
+    }
+
+    @Override
+    public synchronized void replaceAll(Map<ResourceLocation, T> values) {
+        Snapshot<T> snapshot = new Snapshot<>(values, indexes);
+        if (map != null) {
+            map.clear();
+            map.putAll(snapshot.values);
+        }
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Gets the current values, the returned snapshot never changes so all the reads done with it are consistent.
+     *
+     * @return the current snapshot
+     */
+    public Snapshot<T> getSnapshot() {
+        return snapshot;
+    }
+
+    @Nullable
+    public T get(ResourceLocation resourceLocation) {
+        return snapshot.get(resourceLocation);
+    }
+
+    public Collection<T> getValues() {
+        return snapshot.getValues();
+    }
+
+    public List<T> getByIndex(String index, Object key) {
+        return snapshot.getByIndex(index, key);
+    }
+
+    public static class Snapshot<T> {
+
+        private final ImmutableMap<ResourceLocation, T> values;
+        private final Map<String, ImmutableListMultimap<Object, T>> indexes;
+
+        private Snapshot(Map<ResourceLocation, T> values, Map<String, Function<T, Collection<?>>> indexFunctions) {
+            ImmutableMap.Builder<ResourceLocation, T> builder = ImmutableMap.builder();
+            values.forEach((resourceLocation, value) -> {
+                if (value != null) builder.put(resourceLocation, value);
+            });
+            this.values = builder.build();
+            this.indexes = new HashMap<>();
+            indexFunctions.forEach((name, function) -> {
+                ImmutableListMultimap.Builder<Object, T> index = ImmutableListMultimap.builder();
+                for (T value : this.values.values()) {
+                    Collection<?> keys = function.apply(value);
+                    if (keys == null) continue;
+                    for (Object key : keys) {
+                        if (key != null) index.put(key, value);
+                    }
+                }
+                this.indexes.put(name, index.build());
+            });
+        }
+
+        @Nullable
+        public T get(ResourceLocation resourceLocation) {
+            return values.get(resourceLocation);
+        }
+
+        public Map<ResourceLocation, T> getMap() {
+            return values;
+        }
+
+        public Collection<T> getValues() {
+            return values.values();
+        }
+
+        /**
+         * Gets the values that have the key in an index.
+         *
+         * @param index The index name
+         * @param key   The key to look up
+         * @return the values with the key, empty if there are none or the index doesn't exist
+         */
+        public List<T> getByIndex(String index, Object key) {
+            ImmutableListMultimap<Object, T> multimap = indexes.get(index);
+            return multimap == null ? Collections.emptyList() : multimap.get(key);
+        }
     }
 }
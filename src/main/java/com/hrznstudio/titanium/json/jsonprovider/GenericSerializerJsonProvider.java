@@ -7,20 +7,16 @@
 
 package com.hrznstudio.titanium.json.jsonprovider;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.hrznstudio.titanium.json.IJsonProvider;
-import com.hrznstudio.titanium.recipe.serializer.JSONSerializableDataHandler;
+import com.hrznstudio.titanium.recipe.serializer.RecipeSchema;
 import net.minecraft.util.ResourceLocation;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Map;
-
 public class GenericSerializerJsonProvider<T> implements IJsonProvider<T> {
 
     private final Class<T> tClass;
+    private volatile RecipeSchema<T> schema;
 
     public GenericSerializerJsonProvider(Class<T> tClass) {
         this.tClass = tClass;
@@ -29,24 +25,23 @@ public class GenericSerializerJsonProvider<T> implements IJsonProvider<T> {
     @Override
     public T provide(ResourceLocation targetID, JsonObject jsonObject) throws JsonParseException {
         try {
-            T target = tClass.getConstructor(ResourceLocation.class).newInstance(targetID);
-            for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-                if (fieldExists(entry.getKey()) && JSONSerializableDataHandler.acceptField(tClass.getField(entry.getKey()), tClass.getField(entry.getKey()).getType())) {
-                    tClass.getField(entry.getKey()).set(target, JSONSerializableDataHandler.read(tClass.getField(entry.getKey()).getType(), entry.getValue()));
-                }
-            }
+            RecipeSchema<T> schema = getSchema();
+            T target = schema.create(targetID);
+            schema.readJson(target, jsonObject);
             return target;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException | NoSuchFieldException e) {
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (RuntimeException e) {
             throw new JsonParseException(e);
         }
     }
 
-    private boolean fieldExists(String field) {
-        for (Field tclassField : tClass.getFields()) {
-            if (tclassField.getName().equalsIgnoreCase(field)) {
-                return true;
-            }
+    private RecipeSchema<T> getSchema() {
+        RecipeSchema<T> schema = this.schema;
+        if (schema == null) {
+            schema = new RecipeSchema<>(tClass);
+            this.schema = schema;
         }
-        return false;
+        return schema;
     }
 }
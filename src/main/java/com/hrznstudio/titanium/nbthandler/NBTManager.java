@@ -12,23 +12,28 @@ import com.hrznstudio.titanium.annotation.Save;
 import com.hrznstudio.titanium.api.INBTHandler;
 import com.hrznstudio.titanium.nbthandler.data.*;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class NBTManager {
 
     private static NBTManager ourInstance = new NBTManager();
     private List<INBTHandler> handlerList;
-    private HashMap<Class<? extends TileEntity>, List<Field>> tileFieldList;
+    private HashMap<Class<? extends TileEntity>, TileNBTCodec> tileCodecList;
 
     private NBTManager() {
         handlerList = new ArrayList<>();
-        tileFieldList = new HashMap<>();
+        tileCodecList = new HashMap<>();
         handlerList.add(new IntegerNBTHandler());
         handlerList.add(new ShortNBTHandler());
         handlerList.add(new LongNBTHandler());
@@ -58,7 +63,7 @@ public class NBTManager {
     }
 
     /**
-     * Scans a {@link TileEntity} class for {@link Save}.
+     * Scans a {@link TileEntity} class for {@link Save} and compiles its {@link TileNBTCodec}.
      *
      * @param entity The TileEntity class
      */
@@ -71,11 +76,28 @@ public class NBTManager {
             }
         }
         for (Field field : entity.getFields()) {
-            if (field.isAnnotationPresent(Save.class) && checkForHandler(field)) {
+            if (field.isAnnotationPresent(Save.class) && !fields.contains(field) && checkForHandler(field)) {
                 fields.add(field);
             }
         }
-        if (!fields.isEmpty()) tileFieldList.put(entity, fields);
+        if (!fields.isEmpty()) {
+            // Reflection order isn't guaranteed between JVMs and the codec indexes are sent over the network
+            fields.sort(Comparator.comparingInt((Field field) -> getClassDepth(field.getDeclaringClass())).thenComparing(NBTManager::getTagName).thenComparing(Field::getName));
+            tileCodecList.put(entity, new TileNBTCodec(fields, handlerList));
+        }
+    }
+
+    private static int getClassDepth(Class<?> clazz) {
+        int depth = 0;
+        for (Class<?> parent = clazz.getSuperclass(); parent != null; parent = parent.getSuperclass()) {
+            ++depth;
+        }
+        return depth;
+    }
+
+    private static String getTagName(Field field) {
+        Save save = field.getAnnotation(Save.class);
+        return save.value().isEmpty() ? field.getName() : save.value();
     }
 
     private boolean checkForHandler(Field field) {
@@ -95,19 +117,8 @@ public class NBTManager {
      * @return the modified NBTTagCompound.
      */
     public CompoundNBT writeTileEntity(TileEntity entity, CompoundNBT compound) {
-        if (tileFieldList.containsKey(entity.getClass())) {
-            for (Field field : tileFieldList.get(entity.getClass())) {
-                Save save = field.getAnnotation(Save.class);
-                try {
-                    Object obj = field.get(entity);
-                    if (obj == null) continue;
-                    compound = handleNBTWrite(compound, save.value().isEmpty() ? field.getName() : save.value(), obj, field);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-        return compound;
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        return codec == null ? compound : codec.write(entity, compound);
     }
 
     /**
@@ -117,19 +128,8 @@ public class NBTManager {
      * @param compound The NBTTagCompound to save the values.
      */
     public void readTileEntity(TileEntity entity, CompoundNBT compound) {
-        if (tileFieldList.containsKey(entity.getClass())) {
-            for (Field field : tileFieldList.get(entity.getClass())) {
-                if (compound.contains(field.getName())){
-                    Save save = field.getAnnotation(Save.class);
-                    try {
-                        Object value = handleNBTRead(compound, save.value().isEmpty() ? field.getName() : save.value(), field.get(entity), field);
-                        field.set(entity, value);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        if (codec != null) codec.read(entity, compound);
     }
 
     /**
@@ -140,66 +140,101 @@ public class NBTManager {
      * @return the modified NBTTagCompound.
      */
     public CompoundNBT writeTileEntityObject(TileEntity entity, Object object, CompoundNBT compound) {
-        if (tileFieldList.containsKey(entity.getClass())) {
-            for (Field field : tileFieldList.get(entity.getClass())) {
-                try {
-                    if (object.equals(field.get(entity))) {
-                        Save save = field.getAnnotation(Save.class);
-                        Object obj = field.get(entity);
-                        if (obj == null) continue;
-                        compound = handleNBTWrite(compound, save.value().isEmpty() ? field.getName() : save.value(), obj, field);
-                    }
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        return codec == null ? compound : codec.writeObject(entity, object, compound);
+    }
+
+    /**
+     * Writes an specific object to be synced to the client in a compact form, fields are identified by their index in the {@link TileNBTCodec} of the class
+     * @param entity The tile entity instance
+     * @param object The object to be synced
+     * @param buf The buffer to write the values to
+     */
+    public void writeTileEntityObject(TileEntity entity, Object object, PacketBuffer buf) {
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        try {
+            if (codec == null) {
+                buf.writeVarInt(0);
+            } else {
+                codec.writeObject(entity, object, buf);
             }
+        } catch (IOException e) {
+            throw new RuntimeException("Couldn't write the synced values of " + entity, e);
         }
-        return compound;
     }
 
     /**
-     * Checks for a {@link INBTHandler} that can handle the write of the value and writes it to the NBTTagCompound.
+     * Reads the values written by {@link #writeTileEntityObject(TileEntity, Object, PacketBuffer)} and saves them to the Fields.
      *
-     * @param compound The NBTTagCompound to write the value.
-     * @param name     The name of the tag for the NBTTagCompound.
-     * @param value    The value to store in the NBTTagCompound.
-     * @return the modified NBTTagCompound.
+     * @param entity The tile entity instance.
+     * @param buf    The buffer to read the values from.
      */
-    private CompoundNBT handleNBTWrite(CompoundNBT compound, String name, Object value, Field field) {
-        for (INBTHandler handler : handlerList) {
-            if (handler.isClassValid(value == null ? field.getType() : value.getClass())) {
-                if (handler.storeToNBT(compound, name, value)) return compound;
-            }
+    public void readTileEntity(TileEntity entity, PacketBuffer buf) {
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        if (codec == null) return;
+        try {
+            codec.read(entity, buf);
+        } catch (IOException e) {
+            throw new RuntimeException("Couldn't read the synced values of " + entity, e);
         }
-        return compound;
     }
 
     /**
-     * Checks for a {@link INBTHandler} that can handle the read of the value from the NBTTagCompound.
+     * Writes the {@link Save} values that changed since they were last synced to the client.
      *
-     * @param compound The NBTTagCompound to read the value.
-     * @param name     The name of the tag for the NBTTagCompound.
-     * @param value    The current value.
-     * @return
+     * @param entity     The tile entity instance.
+     * @param compound   The NBTTagCompound to save the values.
+     * @param lastSynced The values last sent to the client, it gets updated with the written values.
+     * @return the modified NBTTagCompound.
      */
-    private Object handleNBTRead(CompoundNBT compound, String name, @Nullable Object value, Field field) {
-        for (INBTHandler handler : handlerList) {
-            if (handler.isClassValid(value == null ? field.getType() : value.getClass())) {
-                if (!compound.contains(name)) continue;
-                Object readValue = handler.readFromNBT(compound, name, value);
-                if (readValue != null) {
-                    return readValue;
-                }
-            }
-        }
-        return value;
+    public CompoundNBT writeTileEntityChanges(TileEntity entity, CompoundNBT compound, Map<String, INBT> lastSynced) {
+        TileNBTCodec codec = tileCodecList.get(entity.getClass());
+        return codec == null ? compound : codec.writeChanges(entity, compound, lastSynced);
+    }
+
+    /**
+     * Forgets the synced values that don't match a full snapshot, so they are sent again with the next change update.
+     * Players that start watching get the full snapshot while the ones already watching only got the last changes.
+     *
+     * @param compound   The full snapshot that was sent.
+     * @param lastSynced The values last sent to the client.
+     */
+    public void invalidateTileEntityChanges(CompoundNBT compound, Map<String, INBT> lastSynced) {
+        lastSynced.entrySet().removeIf(entry -> !entry.getValue().equals(compound.get(entry.getKey())));
+    }
+
+    /**
+     * Gets the compiled codec of a tile class.
+     *
+     * @param entity The TileEntity class
+     * @return the codec or null if the class doesn't have any {@link Save} field
+     */
+    @Nullable
+    public TileNBTCodec getCodec(Class<? extends TileEntity> entity) {
+        return tileCodecList.get(entity);
     }
 
     public List<INBTHandler> getHandlerList() {
         return handlerList;
     }
 
+    /**
+     * Gets the {@link Save} fields of every scanned tile class, built from the compiled codecs.
+     * This used to return the live map the fields were stored in, it now returns a new snapshot on every call so changing it has no effect and tiles scanned later aren't added to it.
+     *
+     * @return a snapshot of the fields by tile class
+     * @deprecated the fields are compiled into codecs and no longer kept in a map, this is only kept for compatibility
+     */
+    @Deprecated
     public HashMap<Class<? extends TileEntity>, List<Field>> getTileFieldList() {
+        HashMap<Class<? extends TileEntity>, List<Field>> tileFieldList = new HashMap<>();
+        tileCodecList.forEach((entity, codec) -> {
+            List<Field> fields = new ArrayList<>();
+            for (TileNBTCodec.FieldCodec field : codec.getFields()) {
+                fields.add(field.getField());
+            }
+            tileFieldList.put(entity, fields);
+        });
         return tileFieldList;
     }
 }
@@ -0,0 +1,320 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.nbthandler;
+
+import com.hrznstudio.titanium.annotation.Save;
+import com.hrznstudio.titanium.api.INBTHandler;
+import com.hrznstudio.titanium.network.CompoundSerializableDataHandler;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.NBTSizeTracker;
+import net.minecraft.nbt.NBTTypes;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.common.util.Constants;
+import org.apache.commons.lang3.tuple.Pair;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled reader/writer for all the {@link Save} fields of a tile class, built once by {@link NBTManager#scanTileClassForAnnotations(Class)}.
+ * Every field is bound to its tag name, its accessors and the {@link INBTHandler}s that can process it so saving and loading don't need any reflection or handler lookup.
+ */
+public class TileNBTCodec {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final FieldCodec[] fields;
+
+    public TileNBTCodec(List<Field> fields, List<INBTHandler> handlerList) {
+        this.fields = new FieldCodec[fields.size()];
+        for (int i = 0; i < this.fields.length; i++) {
+            this.fields[i] = new FieldCodec(i, fields.get(i), handlerList);
+        }
+    }
+
+    /**
+     * Writes all the values of the tile to the NBTTagCompound.
+     *
+     * @param entity   The tile entity instance.
+     * @param compound The NBTTagCompound to save the values.
+     * @return the modified NBTTagCompound.
+     */
+    public CompoundNBT write(Object entity, CompoundNBT compound) {
+        for (FieldCodec field : fields) {
+            field.write(entity, compound);
+        }
+        return compound;
+    }
+
+    /**
+     * Reads all the values present in the NBTTagCompound and stores them in the tile.
+     *
+     * @param entity   The tile entity instance.
+     * @param compound The NBTTagCompound to read the values from.
+     */
+    public void read(Object entity, CompoundNBT compound) {
+        for (FieldCodec field : fields) {
+            field.read(entity, compound);
+        }
+    }
+
+    /**
+     * Writes only the fields of the tile that hold the given object.
+     *
+     * @param entity   The tile entity instance.
+     * @param object   The object to be written.
+     * @param compound The NBTTagCompound to save the values.
+     * @return the modified NBTTagCompound.
+     */
+    public CompoundNBT writeObject(Object entity, Object object, CompoundNBT compound) {
+        for (FieldCodec field : fields) {
+            if (field.holds(entity, object)) {
+                field.writeValue(compound, field.get(entity));
+            }
+        }
+        return compound;
+    }
+
+    /**
+     * Writes only the fields whose serialized value differs from the last synced one and updates the snapshot with them.
+     *
+     * @param entity     The tile entity instance.
+     * @param compound   The NBTTagCompound to save the changed values.
+     * @param lastSynced The values last sent to the client, by tag name.
+     * @return the modified NBTTagCompound.
+     */
+    public CompoundNBT writeChanges(Object entity, CompoundNBT compound, Map<String, INBT> lastSynced) {
+        for (FieldCodec field : fields) {
+            INBT tag = field.writeTag(entity);
+            if (tag != null && !tag.equals(lastSynced.get(field.tagName))) {
+                compound.put(field.tagName, tag);
+                lastSynced.put(field.tagName, tag);
+            }
+        }
+        return compound;
+    }
+
+    /**
+     * Writes the fields of the tile that hold the given object to the buffer, each one prefixed by its index in this codec.
+     *
+     * @param entity The tile entity instance.
+     * @param object The object to be written.
+     * @param buf    The buffer to write the values to.
+     */
+    public void writeObject(Object entity, Object object, PacketBuffer buf) throws IOException {
+        int count = 0;
+        for (FieldCodec field : fields) {
+            if (field.holds(entity, object)) ++count;
+        }
+        buf.writeVarInt(count);
+        for (FieldCodec field : fields) {
+            if (field.holds(entity, object)) {
+                field.writeValue(buf, field.get(entity));
+            }
+        }
+    }
+
+    /**
+     * Reads the fields written by {@link #writeObject(Object, Object, PacketBuffer)} and stores them in the tile.
+     *
+     * @param entity The tile entity instance.
+     * @param buf    The buffer to read the values from.
+     */
+    public void read(Object entity, PacketBuffer buf) throws IOException {
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            int index = buf.readVarInt();
+            if (index < 0 || index >= fields.length) throw new IOException("Unknown field " + index + " for " + entity.getClass());
+            fields[index].readValue(entity, buf);
+        }
+    }
+
+    public FieldCodec[] getFields() {
+        return fields;
+    }
+
+    public static class FieldCodec {
+
+        private final int index;
+        private final Field field;
+        private final String tagName;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> bufferHandler;
+        private final ClassValue<INBTHandler[]> handlers;
+
+        private FieldCodec(int index, Field field, List<INBTHandler> handlerList) {
+            Save save = field.getAnnotation(Save.class);
+            this.index = index;
+            this.field = field;
+            this.tagName = save.value().isEmpty() ? field.getName() : save.value();
+            field.setAccessible(true);
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle getter = lookup.unreflectGetter(field);
+                MethodHandle setter = isStatic && Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+                if (isStatic) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                    if (setter != null) setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+                this.getter = getter.asType(GETTER_TYPE);
+                this.setter = setter == null ? null : setter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Couldn't create accessors for " + field, e);
+            }
+            this.handlers = new ClassValue<INBTHandler[]>() {
+                @Override
+                protected INBTHandler[] computeValue(Class<?> type) {
+                    List<INBTHandler> valid = new ArrayList<>();
+                    for (INBTHandler handler : handlerList) {
+                        if (handler.isClassValid(type)) valid.add(handler);
+                    }
+                    return valid.toArray(new INBTHandler[0]);
+                }
+            };
+            // Objects that are updated in place, like components, need to go through their NBT handler
+            this.bufferHandler = this.setter == null || Modifier.isFinal(field.getModifiers()) ? null : CompoundSerializableDataHandler.getHandlerOrNull(field.getType());
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Nullable
+        public Object get(Object entity) {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Couldn't read field " + field, throwable);
+            }
+        }
+
+        public void set(Object entity, @Nullable Object value) {
+            if (setter == null) return;
+            try {
+                setter.invokeExact(entity, value);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Couldn't write field " + field, throwable);
+            }
+        }
+
+        /**
+         * Writes the current value of the field to the NBTTagCompound, null values are skipped.
+         *
+         * @param entity   The tile entity instance.
+         * @param compound The NBTTagCompound to save the value.
+         */
+        public void write(Object entity, CompoundNBT compound) {
+            Object value = get(entity);
+            if (value != null) writeValue(compound, value);
+        }
+
+        /**
+         * Writes the current value of the field on its own.
+         *
+         * @param entity The tile entity instance.
+         * @return the serialized value or null if the field is null
+         */
+        @Nullable
+        public INBT writeTag(Object entity) {
+            CompoundNBT holder = new CompoundNBT();
+            write(entity, holder);
+            return holder.get(tagName);
+        }
+
+        /**
+         * Reads the value of the field from the NBTTagCompound if it is present.
+         *
+         * @param entity   The tile entity instance.
+         * @param compound The NBTTagCompound to read the value from.
+         */
+        public void read(Object entity, CompoundNBT compound) {
+            if (!compound.contains(tagName)) return;
+            Object current = get(entity);
+            Object value = readValue(compound, current);
+            if (value != current) set(entity, value);
+        }
+
+        private boolean holds(Object entity, Object object) {
+            Object value = get(entity);
+            return value != null && (value == object || object.equals(value));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(PacketBuffer buf, Object value) throws IOException {
+            buf.writeVarInt(index);
+            if (bufferHandler != null) {
+                bufferHandler.getRight().write(buf, value);
+                return;
+            }
+            CompoundNBT holder = new CompoundNBT();
+            writeValue(holder, value);
+            INBT tag = holder.get(tagName);
+            if (tag == null) {
+                buf.writeByte(Constants.NBT.TAG_END);
+            } else {
+                buf.writeByte(tag.getId());
+                tag.write(new ByteBufOutputStream(buf));
+            }
+        }
+
+        private void readValue(Object entity, PacketBuffer buf) throws IOException {
+            if (bufferHandler != null) {
+                set(entity, bufferHandler.getLeft().read(buf));
+                return;
+            }
+            byte id = buf.readByte();
+            if (id == Constants.NBT.TAG_END) return;
+            CompoundNBT holder = new CompoundNBT();
+            holder.put(tagName, NBTTypes.getGetTypeByID(id).readNBT(new ByteBufInputStream(buf), 0, NBTSizeTracker.INFINITE));
+            read(entity, holder);
+        }
+
+        private void writeValue(CompoundNBT compound, Object value) {
+            for (INBTHandler handler : getHandlers(value.getClass())) {
+                if (handler.storeToNBT(compound, tagName, value)) return;
+            }
+        }
+
+        private Object readValue(CompoundNBT compound, @Nullable Object current) {
+            for (INBTHandler handler : getHandlers(current == null ? field.getType() : current.getClass())) {
+                Object readValue = handler.readFromNBT(compound, tagName, current);
+                if (readValue != null) {
+                    return readValue;
+                }
+            }
+            return current;
+        }
+
+        private INBTHandler[] getHandlers(Class<?> type) {
+            // Cached per runtime class so polymorphic fields don't rebuild the list when the value changes implementation
+            return handlers.get(type);
+        }
+    }
+}
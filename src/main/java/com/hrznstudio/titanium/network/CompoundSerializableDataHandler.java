@@ -24,6 +24,7 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.commons.lang3.tuple.Pair;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -169,6 +170,11 @@ public class CompoundSerializableDataHandler {
         return packet;
     }
 
+    @Nullable
+    public static Pair<Reader, Writer> getHandlerOrNull(Class<?> clazz) {
+        return FIELD_SERIALIZER.get(clazz);
+    }
+
     public static Pair<Reader, Writer> getHandler(Class<?> clazz) {
         Pair<Reader, Writer> pair = FIELD_SERIALIZER.get(clazz);
         if (pair == null)
@@ -7,11 +7,11 @@
 
 package com.hrznstudio.titanium.network;
 
+import com.hrznstudio.titanium.profiler.TileProfiler;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.network.NetworkEvent;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
 
 public abstract class Message implements Serializable {
 
@@ -19,28 +19,18 @@ public abstract class Message implements Serializable {
 
     public final void fromBytes(PacketBuffer buf) {
         try {
-            Class<?> clazz = getClass();
-            for (Field f : clazz.getDeclaredFields()) {
-                if (!f.isAccessible()) f.setAccessible(true);
-                Class<?> type = f.getType();
-                if (CompoundSerializableDataHandler.acceptField(f, type))
-                    CompoundSerializableDataHandler.readField(f, type, buf, this);
-            }
-        } catch (Exception e) {
+            MessageCodec.get(getClass()).read(this, buf);
+        } catch (Throwable e) {
             throw new RuntimeException("Error at reading packet " + this, e);
         }
     }
 
     public final void toBytes(PacketBuffer buf) {
         try {
-            Class<?> clazz = getClass();
-            for (Field f : clazz.getDeclaredFields()) {
-                if (!f.isAccessible()) f.setAccessible(true);
-                Class<?> type = f.getType();
-                if (CompoundSerializableDataHandler.acceptField(f, type))
-                    CompoundSerializableDataHandler.writeField(f, type, buf, this);
-            }
-        } catch (Exception e) {
+            int start = buf.writerIndex();
+            MessageCodec.get(getClass()).write(this, buf);
+            TileProfiler.add(TileProfiler.Category.PACKET, getClass(), "", buf.writerIndex() - start);
+        } catch (Throwable e) {
             throw new RuntimeException("Error at writing packet " + this, e);
         }
     }
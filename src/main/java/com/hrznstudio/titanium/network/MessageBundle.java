@@ -0,0 +1,27 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.network;
+
+import java.util.List;
+
+/**
+ * Several {@link Message}s sent to the same player during a tick, written by {@link NetworkHandler} as a single packet.
+ * Every message is prefixed by its id in the channel and its length so the receiving side can dispatch them in order.
+ */
+public class MessageBundle {
+
+    private final List<Message> messages;
+
+    public MessageBundle(List<Message> messages) {
+        this.messages = messages;
+    }
+
+    public List<Message> getMessages() {
+        return messages;
+    }
+}
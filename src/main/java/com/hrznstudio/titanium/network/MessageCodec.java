@@ -0,0 +1,131 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.network;
+
+import net.minecraft.network.PacketBuffer;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The serializer of a {@link Message} class, built once per class by {@link NetworkHandler#registerMessage(Class)}.
+ * It keeps the serializable fields in declaration order with their accessors and {@link CompoundSerializableDataHandler} handlers already resolved.
+ */
+public class MessageCodec<REQ extends Message> {
+
+    private static final Map<Class<?>, MessageCodec<?>> CODECS = new ConcurrentHashMap<>();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Message.class);
+
+    private final Class<REQ> type;
+    private final MethodHandle constructor;
+    private final FieldCodec[] fields;
+
+    private MessageCodec(Class<REQ> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor;
+        try {
+            constructor = lookup.unreflectConstructor(type.getConstructor()).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            constructor = null;
+        }
+        this.constructor = constructor;
+        List<FieldCodec> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            int mods = field.getModifiers();
+            if (Modifier.isFinal(mods) || Modifier.isStatic(mods) || Modifier.isTransient(mods)) continue;
+            field.setAccessible(true);
+            try {
+                fields.add(new FieldCodec(field, lookup.unreflectGetter(field).asType(GETTER_TYPE), lookup.unreflectSetter(field).asType(SETTER_TYPE)));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Couldn't create accessors for " + field, e);
+            }
+        }
+        this.fields = fields.toArray(new FieldCodec[0]);
+    }
+
+    /**
+     * Gets the codec of a message class, building it the first time it is requested
+     *
+     * @param type The message class
+     * @return the codec of the message class
+     */
+    @SuppressWarnings("unchecked")
+    public static <REQ extends Message> MessageCodec<REQ> get(Class<REQ> type) {
+        return (MessageCodec<REQ>) CODECS.computeIfAbsent(type, MessageCodec::new);
+    }
+
+    /**
+     * Creates a new message using the public no-arg constructor of the class
+     *
+     * @return the new message
+     */
+    @SuppressWarnings("unchecked")
+    public REQ create() {
+        if (constructor == null) throw new RuntimeException(new NoSuchMethodException(type.getName() + ".<init>()"));
+        try {
+            return (REQ) (Message) constructor.invokeExact();
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    public REQ decode(PacketBuffer buf) {
+        REQ message = create();
+        message.fromBytes(buf);
+        return message;
+    }
+
+    public void read(Message message, PacketBuffer buf) throws Throwable {
+        for (FieldCodec field : fields) {
+            field.setter.invokeExact((Object) message, field.getHandler().getLeft().read(buf));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void write(Message message, PacketBuffer buf) throws Throwable {
+        for (FieldCodec field : fields) {
+            field.getHandler().getRight().write(buf, (Object) field.getter.invokeExact((Object) message));
+        }
+    }
+
+    private static class FieldCodec {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> handler;
+
+        private FieldCodec(Field field, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            this.handler = CompoundSerializableDataHandler.getHandlerOrNull(field.getType());
+        }
+
+        /**
+         * Handlers can be mapped after the message is registered, those are looked up when the field is first used
+         */
+        private Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> getHandler() {
+            if (handler == null) {
+                handler = CompoundSerializableDataHandler.getHandler(field.getType());
+            }
+            return handler;
+        }
+    }
+}
@@ -7,31 +7,81 @@
 
 package com.hrznstudio.titanium.network;
 
+import com.hrznstudio.titanium.event.handler.EventManager;
+import io.netty.buffer.Unpooled;
 import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.fml.network.NetworkDirection;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.minecraftforge.fml.network.NetworkRegistry;
+import net.minecraftforge.fml.network.PacketDistributor;
 import net.minecraftforge.fml.network.simple.SimpleChannel;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class NetworkHandler {
 
+    /**
+     * Approximate bytes a message sent on its own pays for: the packet id, the channel name, the discriminator and the frame length
+     */
+    private static final int PACKET_OVERHEAD = 1 + 1 + 3;
+    private static final String PROTOCOL_VERSION = "2.0";
+
     private SimpleChannel network;
+    private final SimpleChannel bundleNetwork;
     private int i;
+    private final int channelNameLength;
+    private final int bundleChannelNameLength;
+    private final Map<ServerPlayerEntity, Queue<Message>> pendingMessages;
+    private final Map<Class<?>, Integer> messageIds;
+    private final List<MessageCodec<?>> messageCodecs;
+    private final AtomicLong bundlesSent;
+    private final AtomicLong bundledMessages;
+    private final AtomicLong bytesSaved;
 
     public NetworkHandler(String modid) {
         i = 0;
+        pendingMessages = new ConcurrentHashMap<>();
+        messageIds = new HashMap<>();
+        messageCodecs = new ArrayList<>();
+        bundlesSent = new AtomicLong();
+        bundledMessages = new AtomicLong();
+        bytesSaved = new AtomicLong();
+        ResourceLocation channelName = new ResourceLocation(modid, "network");
+        channelNameLength = channelName.toString().length();
         network = NetworkRegistry.newSimpleChannel(
-                new ResourceLocation(modid, "network"),
-                () -> "1.0",
+                channelName,
+                () -> PROTOCOL_VERSION,
+                s -> true,
+                s -> true
+        );
+        // Bundles use their own channel so the ids of the messages registered in the main one don't change
+        ResourceLocation bundleChannelName = new ResourceLocation(modid, "bundle");
+        bundleChannelNameLength = bundleChannelName.toString().length();
+        bundleNetwork = NetworkRegistry.newSimpleChannel(
+                bundleChannelName,
+                () -> PROTOCOL_VERSION,
                 s -> true,
                 s -> true
         );
+        bundleNetwork.registerMessage(0, MessageBundle.class, this::encodeBundle, this::decodeBundle, this::handleBundle);
+        EventManager.forge(TickEvent.ServerTickEvent.class).filter(event -> event.phase == TickEvent.Phase.END).process(event -> flushPendingMessages()).subscribe();
     }
 
     public SimpleChannel get() {
@@ -39,16 +89,10 @@ public class NetworkHandler {
     }
 
     public <REQ extends Message> void registerMessage(Class<REQ> message) {
-        network.registerMessage(i++, message, Message::toBytes,
-                buffer -> {
-                    try {
-                        REQ req = message.getConstructor().newInstance();
-                        req.fromBytes(buffer);
-                        return req;
-                    } catch (InstantiationException | InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
-                },
+        MessageCodec<REQ> codec = MessageCodec.get(message);
+        messageIds.put(message, i);
+        messageCodecs.add(codec);
+        network.registerMessage(i++, message, Message::toBytes, codec::decode,
                 (req, contextSupplier) -> {
                     NetworkEvent.Context context = contextSupplier.get();
                     req.handleMessage(context);
@@ -61,4 +105,110 @@ public class NetworkHandler {
             network.sendTo(message, playerEntity.connection.netManager, NetworkDirection.PLAY_TO_CLIENT);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends the message to the players that have the chunk of the position loaded, using the tracking set of the chunk manager instead of scanning for entities.
+     * Messages are queued and sent to every player at the end of the server tick.
+     *
+     * @param world   The world of the position
+     * @param pos     The position the message is about
+     * @param message The message to send
+     */
+    public void sendToTracking(World world, BlockPos pos, Message message) {
+        if (!(world instanceof ServerWorld)) return;
+        ((ServerWorld) world).getChunkProvider().chunkManager.getTrackingPlayers(new ChunkPos(pos), false)
+                .forEach(playerEntity -> sendBundled(playerEntity, message));
+    }
+
+    /**
+     * Queues the message to be sent to the player at the end of the server tick, together with every other message queued for the player during the tick.
+     *
+     * @param playerEntity The player to send the message to
+     * @param message      The message to send
+     */
+    public void sendBundled(ServerPlayerEntity playerEntity, Message message) {
+        pendingMessages.computeIfAbsent(playerEntity, player -> new ConcurrentLinkedQueue<>()).add(message);
+    }
+
+    public long getBundlesSent() {
+        return bundlesSent.get();
+    }
+
+    public long getBundledMessages() {
+        return bundledMessages.get();
+    }
+
+    /**
+     * @return an estimation of the bytes that sending the bundled messages on their own would have added
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    private void flushPendingMessages() {
+        for (Iterator<Map.Entry<ServerPlayerEntity, Queue<Message>>> iterator = pendingMessages.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<ServerPlayerEntity, Queue<Message>> entry = iterator.next();
+            ServerPlayerEntity playerEntity = entry.getKey();
+            if (playerEntity.hasDisconnected() || playerEntity.connection == null) {
+                iterator.remove();
+                continue;
+            }
+            // Messages queued from other threads while draining are sent with the next flush
+            List<Message> messages = new ArrayList<>();
+            for (Message message = entry.getValue().poll(); message != null; message = entry.getValue().poll()) {
+                messages.add(message);
+            }
+            if (messages.isEmpty()) continue;
+            PacketDistributor.PacketTarget target = PacketDistributor.PLAYER.with(() -> playerEntity);
+            if (messages.size() == 1) {
+                network.send(target, messages.get(0));
+            } else {
+                bundleNetwork.send(target, new MessageBundle(messages));
+            }
+        }
+    }
+
+    private void encodeBundle(MessageBundle bundle, PacketBuffer buf) {
+        int start = buf.writerIndex();
+        buf.writeVarInt(bundle.getMessages().size());
+        int unbundledSize = 0;
+        for (Message message : bundle.getMessages()) {
+            Integer id = messageIds.get(message.getClass());
+            if (id == null) throw new RuntimeException("Message " + message.getClass() + " isn't registered in " + network);
+            PacketBuffer messageBuf = new PacketBuffer(Unpooled.buffer());
+            message.toBytes(messageBuf);
+            int length = messageBuf.readableBytes();
+            buf.writeVarInt(id);
+            buf.writeVarInt(length);
+            buf.writeBytes(messageBuf);
+            messageBuf.release();
+            unbundledSize += PACKET_OVERHEAD + channelNameLength + length;
+        }
+        int bundleSize = PACKET_OVERHEAD + bundleChannelNameLength + buf.writerIndex() - start;
+        bundlesSent.incrementAndGet();
+        bundledMessages.addAndGet(bundle.getMessages().size());
+        bytesSaved.addAndGet(unbundledSize - bundleSize);
+    }
+
+    private MessageBundle decodeBundle(PacketBuffer buf) {
+        int count = buf.readVarInt();
+        List<Message> messages = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            int id = buf.readVarInt();
+            int length = buf.readVarInt();
+            if (id < 0 || id >= messageCodecs.size()) throw new RuntimeException("Unknown message " + id + " in bundle of " + network);
+            int end = buf.readerIndex() + length;
+            messages.add(messageCodecs.get(id).decode(new PacketBuffer(buf.readSlice(length))));
+            buf.readerIndex(end);
+        }
+        return new MessageBundle(messages);
+    }
+
+    private void handleBundle(MessageBundle bundle, Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+        for (Message message : bundle.getMessages()) {
+            message.handleMessage(context);
+        }
+        context.setPacketHandled(true);
+    }
+}
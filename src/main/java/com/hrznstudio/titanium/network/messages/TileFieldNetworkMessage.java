@@ -9,8 +9,9 @@ package com.hrznstudio.titanium.network.messages;
 
 import com.hrznstudio.titanium.block.tile.BasicTile;
 import com.hrznstudio.titanium.network.Message;
+import io.netty.buffer.Unpooled;
 import net.minecraft.client.Minecraft;
-import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.network.NetworkEvent;
@@ -18,11 +19,12 @@ import net.minecraftforge.fml.network.NetworkEvent;
 public class TileFieldNetworkMessage extends Message {
 
     private BlockPos pos;
-    private CompoundNBT data;
+    private byte[] data;
 
-    public TileFieldNetworkMessage(BlockPos pos, CompoundNBT data) {
+    public TileFieldNetworkMessage(BlockPos pos, PacketBuffer data) {
         this.pos = pos;
-        this.data = data;
+        this.data = new byte[data.readableBytes()];
+        data.readBytes(this.data);
     }
 
     public TileFieldNetworkMessage() {
@@ -33,7 +35,7 @@ public class TileFieldNetworkMessage extends Message {
         context.enqueueWork(() -> {
             TileEntity entity = Minecraft.getInstance().player.getEntityWorld().getTileEntity(pos);
             if (entity instanceof BasicTile){
-                ((BasicTile<?>) entity).handleSyncObject(data);
+                ((BasicTile<?>) entity).handleSyncObject(new PacketBuffer(Unpooled.wrappedBuffer(data)));
             }
         });
     }
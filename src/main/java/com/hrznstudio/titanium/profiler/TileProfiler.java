@@ -0,0 +1,214 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.profiler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.hrznstudio.titanium._impl.PerformanceConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the time spent by Titanium tiles and components and the bytes sent by Titanium messages.
+ * It is enabled with {@link PerformanceConfig#PROFILER} or the profile command, when disabled {@link #start()} returns 0 and nothing is recorded.
+ */
+public class TileProfiler {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<Key, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static volatile boolean forced = false;
+
+    public static boolean isEnabled() {
+        return forced || PerformanceConfig.PROFILER;
+    }
+
+    /**
+     * Enables or disables the profiler until the server restarts, regardless of the config
+     *
+     * @param enabled True to enable the profiler
+     */
+    public static void setForced(boolean enabled) {
+        forced = enabled;
+    }
+
+    /**
+     * Gets the start time of a measure
+     *
+     * @return the current nano time or 0 if the profiler is disabled
+     */
+    public static long start() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time passed since {@link #start()}, does nothing if the measure was started while disabled
+     *
+     * @param category The kind of work measured, like tile or component
+     * @param owner    The class of the tile or message doing the work
+     * @param name     The name of the component, empty for the whole owner
+     * @param start    The value returned by {@link #start()}
+     */
+    public static void record(Category category, Class<?> owner, String name, long start) {
+        if (start == 0) return;
+        add(category, owner, name, System.nanoTime() - start);
+    }
+
+    /**
+     * Records an amount, like the bytes of a message, if the profiler is enabled
+     */
+    public static void add(Category category, Class<?> owner, String name, long amount) {
+        if (!isEnabled()) return;
+        Entry entry = ENTRIES.computeIfAbsent(new Key(category, owner, name), key -> new Entry());
+        entry.calls.increment();
+        entry.total.add(amount);
+    }
+
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * Gets a snapshot of the recorded entries sorted by their total
+     *
+     * @return the recorded entries
+     */
+    public static List<Result> getResults() {
+        List<Result> results = new ArrayList<>();
+        ENTRIES.forEach((key, entry) -> results.add(new Result(key.category, key.owner.getName(), key.name, entry.calls.sum(), entry.total.sum())));
+        results.sort(Comparator.comparingLong(Result::getTotal).reversed());
+        return results;
+    }
+
+    public static void writeCSV(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("category,owner,name,calls,total,average\n");
+            for (Result result : getResults()) {
+                writer.write(result.category.name().toLowerCase() + "," + result.owner + "," + result.name + "," + result.calls + "," + result.total + "," + result.getAverage() + "\n");
+            }
+        }
+    }
+
+    public static void writeJSON(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        JsonArray array = new JsonArray();
+        for (Result result : getResults()) {
+            JsonObject object = new JsonObject();
+            object.addProperty("category", result.category.name().toLowerCase());
+            object.addProperty("owner", result.owner);
+            object.addProperty("name", result.name);
+            object.addProperty("calls", result.calls);
+            object.addProperty("total", result.total);
+            object.addProperty("average", result.getAverage());
+            array.add(object);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            GSON.toJson(array, writer);
+        }
+    }
+
+    public enum Category {
+        /**
+         * Nanoseconds spent in {@link com.hrznstudio.titanium.block.tile.ActiveTile#tick()} per tile class
+         */
+        TILE,
+        /**
+         * Nanoseconds spent by a component per tile class and component name
+         */
+        COMPONENT,
+        /**
+         * Bytes written per message class
+         */
+        PACKET
+    }
+
+    private static class Key {
+
+        private final Category category;
+        private final Class<?> owner;
+        private final String name;
+
+        private Key(Category category, Class<?> owner, String name) {
+            this.category = category;
+            this.owner = owner;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return category == key.category && owner == key.owner && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * category.hashCode() + owner.hashCode()) + name.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder total = new LongAdder();
+    }
+
+    public static class Result {
+
+        private final Category category;
+        private final String owner;
+        private final String name;
+        private final long calls;
+        private final long total;
+
+        private Result(Category category, String owner, String name, long calls, long total) {
+            this.category = category;
+            this.owner = owner;
+            this.name = name;
+            this.calls = calls;
+            this.total = total;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getAverage() {
+            return calls == 0 ? 0 : total / calls;
+        }
+    }
+}
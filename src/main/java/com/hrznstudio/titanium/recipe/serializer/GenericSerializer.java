@@ -8,11 +8,9 @@
 package com.hrznstudio.titanium.recipe.serializer;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.hrznstudio.titanium.Titanium;
-import com.hrznstudio.titanium.network.CompoundSerializableDataHandler;
 import net.minecraft.item.crafting.IRecipeSerializer;
 import net.minecraft.item.crafting.IRecipeType;
 import net.minecraft.network.PacketBuffer;
@@ -21,8 +19,6 @@ import net.minecraftforge.registries.ForgeRegistryEntry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.lang.reflect.Field;
-import java.util.Map;
 
 /**
  * Generic recipe serializer, that will serialize a recipe from the Handlers in @{@link JSONSerializableDataHandler}.
@@ -33,6 +29,7 @@ import java.util.Map;
 public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegistryEntry<IRecipeSerializer<?>> implements IRecipeSerializer<T>, IRecipeSerializerReversed<T> {
     private final Class<T> recipeClass;
     private final IRecipeType<T> recipeType;
+    private volatile RecipeSchema<T> schema;
 
     public GenericSerializer(IRecipeType<T> recipeType, Class<T> recipeClass) {
         this.recipeType = recipeType;
@@ -49,12 +46,9 @@ public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegist
     @Nonnull
     public T read(@Nonnull ResourceLocation recipeId, JsonObject json) {
         try {
-            T recipe = recipeClass.getConstructor(ResourceLocation.class).newInstance(recipeId);
-            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-                if (fieldExists(entry.getKey()) && JSONSerializableDataHandler.acceptField(recipeClass.getField(entry.getKey()), recipeClass.getField(entry.getKey()).getType())) {
-                    recipeClass.getField(entry.getKey()).set(recipe, JSONSerializableDataHandler.read(recipeClass.getField(entry.getKey()).getType(), entry.getValue()));
-                }
-            }
+            RecipeSchema<T> schema = getSchema();
+            T recipe = schema.create(recipeId);
+            schema.readJson(recipe, json);
             return recipe;
         } catch (Exception e) {
             Titanium.LOGGER.catching(e);
@@ -67,11 +61,7 @@ public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegist
     public JsonObject write(T recipe) {
         JsonObject object = new JsonObject();
         try {
-            for (Field field : recipeClass.getFields()) {
-                if (JSONSerializableDataHandler.acceptField(field, field.getType())) {
-                    object.add(field.getName(), JSONSerializableDataHandler.write(field.getType(), field.get(recipe)));
-                }
-            }
+            getSchema().writeJson(recipe, object);
         } catch (Exception e) {
             Titanium.LOGGER.catching(e);
         }
@@ -96,12 +86,9 @@ public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegist
     @ParametersAreNonnullByDefault
     public T read(ResourceLocation recipeId, PacketBuffer buffer) {
         try {
-            T recipe = recipeClass.getConstructor(ResourceLocation.class).newInstance(recipeId);
-            for (Field field : recipeClass.getFields()) {
-                if (CompoundSerializableDataHandler.acceptField(field, field.getType())) {
-                    CompoundSerializableDataHandler.readField(field, field.getType(), buffer, recipe);
-                }
-            }
+            RecipeSchema<T> schema = getSchema();
+            T recipe = schema.create(recipeId);
+            schema.read(recipe, buffer);
             return recipe;
         } catch (Exception e) {
             Titanium.LOGGER.error(recipeId);
@@ -115,11 +102,7 @@ public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegist
     @ParametersAreNonnullByDefault
     public void write(PacketBuffer buffer, T recipe) {
         try {
-            for (Field field : recipeClass.getFields()) {
-                if (CompoundSerializableDataHandler.acceptField(field, field.getType())) {
-                    CompoundSerializableDataHandler.writeField(field, field.getType(), buffer, recipe);
-                }
-            }
+            getSchema().write(recipe, buffer);
         } catch (Exception e) {
             Titanium.LOGGER.catching(e);
         }
@@ -129,14 +112,18 @@ public class GenericSerializer<T extends SerializableRecipe> extends ForgeRegist
         return recipeType;
     }
 
-    private boolean fieldExists(String field) {
-        for (Field recipeClassField : recipeClass.getFields()) {
-            if (recipeClassField.getName().equalsIgnoreCase(field)) {
-                return true;
-            }
+    /**
+     * Gets the schema of the recipe class, it is built the first time a recipe is read or written so all the data handlers are already mapped.
+     *
+     * @return the schema of the recipe class
+     */
+    public RecipeSchema<T> getSchema() {
+        RecipeSchema<T> schema = this.schema;
+        if (schema == null) {
+            schema = new RecipeSchema<>(recipeClass);
+            this.schema = schema;
         }
-        return false;
+        return schema;
     }
 
-
 }
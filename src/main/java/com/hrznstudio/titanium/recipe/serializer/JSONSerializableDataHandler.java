@@ -27,6 +27,7 @@ import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
@@ -108,7 +109,7 @@ public class JSONSerializableDataHandler {
         map(Ingredient[].class, (type) -> {
             JsonArray array = new JsonArray();
             for (Ingredient ingredient : type) {
-                array.add(write(Ingredient.class, ingredient));
+                array.add(Ingredient.EMPTY.equals(ingredient) ? null : ingredient.serialize());
             }
             return array;
         }, (element) -> {
@@ -116,7 +117,7 @@ public class JSONSerializableDataHandler {
             int i = 0;
             for (Iterator<JsonElement> iterator = element.getAsJsonArray().iterator(); iterator.hasNext(); i++) {
                 JsonElement jsonElement = iterator.next();
-                ingredients[i] = read(Ingredient.class, jsonElement);
+                ingredients[i] = CraftingHelper.getIngredient(jsonElement);
             }
             return ingredients;
         });
@@ -124,32 +125,30 @@ public class JSONSerializableDataHandler {
         map(Ingredient.IItemList[].class, type -> {
             JsonArray array = new JsonArray();
             for (Ingredient.IItemList ingredient : type) {
-                array.add(write(Ingredient.IItemList.class, ingredient));
+                array.add(ingredient.serialize());
             }
             return array;
         }, element -> {
             Ingredient.IItemList[] ingredient = new Ingredient.IItemList[element.getAsJsonArray().size()];
             int i = 0;
             for (JsonElement jsonElement : element.getAsJsonArray()) {
-                ingredient[i] = read(Ingredient.IItemList.class, jsonElement);
+                ingredient[i] = Ingredient.deserializeItemList(jsonElement.getAsJsonObject());
                 ++i;
             }
             return ingredient;
         });
-        map(CompoundNBT.class, type -> new JsonPrimitive(type.toString()), element -> {
-            try {
-                return JsonToNBT.getTagFromJson(element.getAsString());
-            } catch (CommandSyntaxException e) {
-                Titanium.LOGGER.catching(e);
-            }
-            return new CompoundNBT();
-        });
+        map(CompoundNBT.class, NBTJsonCodec::write, NBTJsonCodec::readCompound);
     }
 
     public static <T> void map(Class<T> type, Writer<T> writer, Reader<T> reader) {
         FIELD_SERIALIZER.put(type, Pair.of(writer, reader));
     }
 
+    @Nullable
+    public static Pair<Writer, Reader> getHandlerOrNull(Class<?> type) {
+        return FIELD_SERIALIZER.get(type);
+    }
+
     public static boolean acceptField(Field f, Class<?> type) {
         int mods = f.getModifiers();
         return !Modifier.isFinal(mods) && !Modifier.isStatic(mods) && !Modifier.isTransient(mods) && FIELD_SERIALIZER.containsKey(type);
@@ -171,7 +170,7 @@ public class JSONSerializableDataHandler {
         object.addProperty("item", stack.getItem().getRegistryName().toString());
         object.addProperty("count", stack.getCount());
         if (stack.hasTag()) {
-            object.addProperty("nbt", stack.getTag().toString());
+            object.add("nbt", NBTJsonCodec.write(stack.getTag()));
         }
         return object;
     }
@@ -180,10 +179,13 @@ public class JSONSerializableDataHandler {
         if(fluidStack.isEmpty()) {
             return null;
         }
-        return new JsonPrimitive(fluidStack.writeToNBT(new CompoundNBT()).toString());
+        return NBTJsonCodec.write(fluidStack.writeToNBT(new CompoundNBT()));
     }
 
     public static FluidStack readFluidStack(JsonElement object) {
+        if (object.isJsonObject()) {
+            return FluidStack.loadFluidStackFromNBT((CompoundNBT) NBTJsonCodec.read(object));
+        }
         try {
             return FluidStack.loadFluidStackFromNBT(JsonToNBT.getTagFromJson(object.getAsString()));
         } catch (CommandSyntaxException e) {
@@ -195,7 +197,9 @@ public class JSONSerializableDataHandler {
     public static ItemStack readItemStack(JsonObject object) {
         ItemStack stack = new ItemStack(ForgeRegistries.ITEMS.getValue(new ResourceLocation(object.get("item").getAsString())),
                 JSONUtils.getInt(object, "count", 1));
-        if (object.has("nbt")) {
+        if (object.has("nbt") && object.get("nbt").isJsonObject()) {
+            stack.setTag((CompoundNBT) NBTJsonCodec.read(object.get("nbt")));
+        } else if (object.has("nbt")) {
             try {
                 stack.setTag(JsonToNBT.getTagFromJson(object.get("nbt").getAsString()));
             } catch (CommandSyntaxException e) {
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.recipe.serializer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.hrznstudio.titanium.Titanium;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.nbt.ByteArrayNBT;
+import net.minecraft.nbt.ByteNBT;
+import net.minecraft.nbt.CollectionNBT;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.DoubleNBT;
+import net.minecraft.nbt.FloatNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
+import net.minecraft.nbt.IntNBT;
+import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.nbt.LongArrayNBT;
+import net.minecraft.nbt.LongNBT;
+import net.minecraft.nbt.NumberNBT;
+import net.minecraft.nbt.ShortNBT;
+import net.minecraft.nbt.StringNBT;
+import net.minecraftforge.common.util.Constants;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Converts NBT to plain JSON and back without going through SNBT strings, so reading it is a walk over the JSON tree instead of a full SNBT parse.
+ * Compounds are objects, lists are arrays, ints and doubles are JSON numbers and strings are JSON strings.
+ * The other numbers keep their SNBT suffix ({@code 1b}, {@code 2s}, {@code 3L}, {@code 1.5f}) and arrays their SNBT form ({@code [I;1,2]}), strings that would read as one of those are written quoted.
+ * A JSON string in place of a compound is read as SNBT, so jsons written before this format still load.
+ */
+public class NBTJsonCodec {
+
+    public static JsonElement write(INBT nbt) {
+        switch (nbt.getId()) {
+            case Constants.NBT.TAG_COMPOUND:
+                JsonObject object = new JsonObject();
+                CompoundNBT compound = (CompoundNBT) nbt;
+                for (String key : compound.keySet()) {
+                    object.add(key, write(compound.get(key)));
+                }
+                return object;
+            case Constants.NBT.TAG_LIST:
+                JsonArray array = new JsonArray();
+                for (INBT element : (ListNBT) nbt) {
+                    array.add(write(element));
+                }
+                return array;
+            case Constants.NBT.TAG_INT:
+                return new JsonPrimitive(((IntNBT) nbt).getInt());
+            case Constants.NBT.TAG_DOUBLE:
+                double value = ((DoubleNBT) nbt).getDouble();
+                return Double.isFinite(value) ? new JsonPrimitive(value) : new JsonPrimitive(nbt.toString());
+            case Constants.NBT.TAG_STRING:
+                String string = nbt.getString();
+                return new JsonPrimitive(isAmbiguous(string) ? StringNBT.quoteAndEscape(string) : string);
+            default:
+                // Bytes, shorts, longs, floats and arrays use their SNBT form
+                return new JsonPrimitive(nbt.toString());
+        }
+    }
+
+    public static INBT read(JsonElement element) {
+        if (element.isJsonObject()) {
+            CompoundNBT compound = new CompoundNBT();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                if (!entry.getValue().isJsonNull()) compound.put(entry.getKey(), read(entry.getValue()));
+            }
+            return compound;
+        }
+        if (element.isJsonArray()) {
+            ListNBT list = new ListNBT();
+            for (JsonElement jsonElement : element.getAsJsonArray()) {
+                if (!list.addNBTByIndex(list.size(), read(jsonElement))) throw new JsonParseException("Mixed tag types in list " + element);
+            }
+            return list;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) return ByteNBT.valueOf(primitive.getAsBoolean());
+        if (primitive.isNumber()) {
+            String number = primitive.getAsString();
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return DoubleNBT.valueOf(primitive.getAsDouble());
+            }
+            long value = primitive.getAsLong();
+            return value == (int) value ? IntNBT.valueOf((int) value) : LongNBT.valueOf(value);
+        }
+        String string = primitive.getAsString();
+        INBT typed = readTyped(string);
+        if (typed != null) return typed;
+        if (!string.isEmpty() && (string.charAt(0) == '"' || string.charAt(0) == '\'')) {
+            try {
+                return new JsonToNBT(new StringReader(string)).readValue();
+            } catch (CommandSyntaxException e) {
+                throw new JsonParseException("Invalid quoted string " + string, e);
+            }
+        }
+        return StringNBT.valueOf(string);
+    }
+
+    /**
+     * Reads a compound from its JSON object or from a SNBT string.
+     *
+     * @param element The JSON element
+     * @return the compound, empty if the SNBT string isn't valid
+     */
+    public static CompoundNBT readCompound(JsonElement element) {
+        if (element.isJsonObject()) {
+            return (CompoundNBT) read(element);
+        }
+        try {
+            return JsonToNBT.getTagFromJson(element.getAsString());
+        } catch (CommandSyntaxException e) {
+            Titanium.LOGGER.catching(e);
+        }
+        return new CompoundNBT();
+    }
+
+    private static boolean isAmbiguous(String string) {
+        return readTyped(string) != null || (!string.isEmpty() && (string.charAt(0) == '"' || string.charAt(0) == '\''));
+    }
+
+    @Nullable
+    private static INBT readTyped(String string) {
+        int length = string.length();
+        if (length < 2) return null;
+        if (length >= 4 && string.charAt(0) == '[' && string.charAt(2) == ';' && string.charAt(length - 1) == ']') {
+            return readArray(string.charAt(1), string.substring(3, length - 1));
+        }
+        String number = string.substring(0, length - 1);
+        try {
+            switch (string.charAt(length - 1)) {
+                case 'b':
+                case 'B':
+                    return ByteNBT.valueOf(Byte.parseByte(number));
+                case 's':
+                case 'S':
+                    return ShortNBT.valueOf(Short.parseShort(number));
+                case 'l':
+                case 'L':
+                    return LongNBT.valueOf(Long.parseLong(number));
+                case 'f':
+                case 'F':
+                    return FloatNBT.valueOf(Float.parseFloat(number));
+                case 'd':
+                case 'D':
+                    return DoubleNBT.valueOf(Double.parseDouble(number));
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static CollectionNBT<?> readArray(char type, String content) {
+        String[] values = content.isEmpty() ? new String[0] : content.split(",");
+        try {
+            switch (type) {
+                case 'B':
+                    byte[] bytes = new byte[values.length];
+                    for (int i = 0; i < values.length; i++) bytes[i] = ((NumberNBT) readArrayValue(values[i], 'b')).getByte();
+                    return new ByteArrayNBT(bytes);
+                case 'I':
+                    int[] ints = new int[values.length];
+                    for (int i = 0; i < values.length; i++) ints[i] = Integer.parseInt(values[i].trim());
+                    return new IntArrayNBT(ints);
+                case 'L':
+                    long[] longs = new long[values.length];
+                    for (int i = 0; i < values.length; i++) longs[i] = ((NumberNBT) readArrayValue(values[i], 'L')).getLong();
+                    return new LongArrayNBT(longs);
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException | ClassCastException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static INBT readArrayValue(String value, char suffix) {
+        value = value.trim();
+        INBT typed = readTyped(value);
+        return typed != null ? typed : readTyped(value + suffix);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.recipe.serializer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.hrznstudio.titanium.network.CompoundSerializableDataHandler;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The precomputed layout of a class read from jsons, like the {@link SerializableRecipe}s of {@link GenericSerializer}.
+ * Fields are resolved once together with their JSON and packet handlers, so reading and writing recipes doesn't need any reflection lookup.
+ *
+ * @param <T> The recipe class
+ */
+public class RecipeSchema<T> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, ResourceLocation.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> recipeClass;
+    private final MethodHandle constructor;
+    private final Map<String, FieldAccessor> jsonFields;
+    private final FieldAccessor[] jsonWriteFields;
+    private final FieldAccessor[] packetFields;
+    private final Set<String> publicFields;
+    private final Set<String> publicFieldsIgnoreCase;
+    @Nullable
+    private final Class<?> missingPacketHandler;
+
+    public RecipeSchema(Class<T> recipeClass) {
+        this.recipeClass = recipeClass;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            this.constructor = lookup.unreflectConstructor(recipeClass.getConstructor(ResourceLocation.class)).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException("Couldn't find the ResourceLocation constructor of " + recipeClass, e);
+        }
+        this.jsonFields = new HashMap<>();
+        this.publicFields = new HashSet<>();
+        this.publicFieldsIgnoreCase = new HashSet<>();
+        List<FieldAccessor> jsonWriteFields = new ArrayList<>();
+        List<FieldAccessor> packetFields = new ArrayList<>();
+        Class<?> missingPacketHandler = null;
+        for (Field field : recipeClass.getFields()) {
+            publicFields.add(field.getName());
+            publicFieldsIgnoreCase.add(field.getName().toLowerCase(Locale.ROOT));
+            int mods = field.getModifiers();
+            if (Modifier.isFinal(mods) || Modifier.isStatic(mods) || Modifier.isTransient(mods)) continue;
+            Pair<JSONSerializableDataHandler.Writer, JSONSerializableDataHandler.Reader> jsonHandler = JSONSerializableDataHandler.getHandlerOrNull(field.getType());
+            org.apache.commons.lang3.tuple.Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> packetHandler = CompoundSerializableDataHandler.getHandlerOrNull(field.getType());
+            FieldAccessor accessor = new FieldAccessor(lookup, field, jsonHandler, packetHandler);
+            if (jsonHandler != null) {
+                jsonFields.put(field.getName(), accessor);
+                jsonWriteFields.add(accessor);
+            }
+            if (packetHandler != null) {
+                packetFields.add(accessor);
+            } else if (missingPacketHandler == null) {
+                missingPacketHandler = field.getType();
+            }
+        }
+        this.jsonWriteFields = jsonWriteFields.toArray(new FieldAccessor[0]);
+        this.packetFields = packetFields.toArray(new FieldAccessor[0]);
+        this.missingPacketHandler = missingPacketHandler;
+    }
+
+    /**
+     * Creates an empty recipe with the given id.
+     *
+     * @param recipeId The id of the recipe
+     * @return the new recipe
+     */
+    @SuppressWarnings("unchecked")
+    public T create(ResourceLocation recipeId) {
+        try {
+            return (T) (Object) constructor.invokeExact(recipeId);
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Couldn't create a recipe of " + recipeClass, throwable);
+        }
+    }
+
+    /**
+     * Reads all the entries of the json that match a serializable field of the recipe.
+     *
+     * @param recipe The recipe to fill
+     * @param json   The recipe json
+     */
+    public void readJson(T recipe, JsonObject json) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            FieldAccessor accessor = jsonFields.get(entry.getKey());
+            if (accessor != null) {
+                accessor.set(recipe, accessor.jsonHandler.getSecond().read(entry.getValue()));
+            } else if (!publicFields.contains(entry.getKey()) && publicFieldsIgnoreCase.contains(entry.getKey().toLowerCase(Locale.ROOT))) {
+                throw new JsonParseException("Field " + entry.getKey() + " of " + recipeClass + " doesn't match the case of the recipe field");
+            }
+        }
+    }
+
+    /**
+     * Writes all the serializable fields of the recipe to the json.
+     *
+     * @param recipe The recipe to write
+     * @param json   The json to write the fields to
+     */
+    @SuppressWarnings("unchecked")
+    public void writeJson(T recipe, JsonObject json) {
+        for (FieldAccessor accessor : jsonWriteFields) {
+            json.add(accessor.name, accessor.jsonHandler.getFirst().write(accessor.get(recipe)));
+        }
+    }
+
+    /**
+     * Reads all the serializable fields of the recipe from the buffer.
+     *
+     * @param recipe The recipe to fill
+     * @param buf    The buffer to read from
+     */
+    public void read(T recipe, PacketBuffer buf) throws IOException {
+        checkPacketHandlers();
+        for (FieldAccessor accessor : packetFields) {
+            accessor.set(recipe, accessor.packetHandler.getLeft().read(buf));
+        }
+    }
+
+    /**
+     * Writes all the serializable fields of the recipe to the buffer.
+     *
+     * @param recipe The recipe to write
+     * @param buf    The buffer to write to
+     */
+    @SuppressWarnings("unchecked")
+    public void write(T recipe, PacketBuffer buf) {
+        checkPacketHandlers();
+        for (FieldAccessor accessor : packetFields) {
+            accessor.packetHandler.getRight().write(buf, accessor.get(recipe));
+        }
+    }
+
+    private void checkPacketHandlers() {
+        if (missingPacketHandler != null) throw new RuntimeException("No R/W handler for  " + missingPacketHandler);
+    }
+
+    public Class<T> getRecipeClass() {
+        return recipeClass;
+    }
+
+    private static class FieldAccessor {
+
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        @Nullable
+        private final Pair<JSONSerializableDataHandler.Writer, JSONSerializableDataHandler.Reader> jsonHandler;
+        @Nullable
+        private final org.apache.commons.lang3.tuple.Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> packetHandler;
+
+        private FieldAccessor(MethodHandles.Lookup lookup, Field field,
+                              @Nullable Pair<JSONSerializableDataHandler.Writer, JSONSerializableDataHandler.Reader> jsonHandler,
+                              @Nullable org.apache.commons.lang3.tuple.Pair<CompoundSerializableDataHandler.Reader, CompoundSerializableDataHandler.Writer> packetHandler) {
+            this.name = field.getName();
+            this.jsonHandler = jsonHandler;
+            this.packetHandler = packetHandler;
+            try {
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Couldn't create accessors for " + field, e);
+            }
+        }
+
+        private Object get(Object recipe) {
+            try {
+                return (Object) getter.invokeExact(recipe);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Couldn't read field " + name, throwable);
+            }
+        }
+
+        private void set(Object recipe, Object value) {
+            try {
+                setter.invokeExact(recipe, value);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Couldn't write field " + name, throwable);
+            }
+        }
+    }
+}
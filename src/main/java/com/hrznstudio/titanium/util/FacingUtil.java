@@ -13,8 +13,23 @@ import javax.annotation.Nullable;
 
 public class FacingUtil {
 
+    private static final Sideness[][] RELATIVE_SIDENESS = new Sideness[Direction.values().length][Direction.values().length];
+
+    static {
+        for (Direction relative : Direction.values()) {
+            for (Direction facing : Direction.values()) {
+                RELATIVE_SIDENESS[relative.ordinal()][facing.ordinal()] = computeFacingRelative(relative, facing);
+            }
+        }
+    }
+
     public static Sideness getFacingRelative(Direction relative, @Nullable Direction facing) {
         if (facing == null) return null;
+        if (relative == null) return computeFacingRelative(null, facing);
+        return RELATIVE_SIDENESS[relative.ordinal()][facing.ordinal()];
+    }
+
+    private static Sideness computeFacingRelative(Direction relative, Direction facing) {
         if (facing == Direction.UP) return Sideness.TOP;
         if (facing == Direction.DOWN) return Sideness.BOTTOM;
         if (relative == facing) return Sideness.FRONT;
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Titanium
+ * Copyright (C) 2024, Horizon Studio <contact@hrznstudio.com>.
+ *
+ * This code is licensed under GNU Lesser General Public License v3.0, the full license text can be found in LICENSE.txt
+ */
+
+package com.hrznstudio.titanium.util;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.IRecipeType;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.item.crafting.RecipeManager;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Recipes of a {@link IRecipeType} indexed by the items their first ingredient matches, so finding the recipe for an input doesn't need to test every recipe.
+ * Plain ingredients are resolved into the items they accept, custom ingredients that can check more than the item (like NBT) are kept in a fallback list that is always tested.
+ * Indexes are rebuilt when the recipes of the {@link RecipeManager} are replaced or when recipes and tags are synced.
+ *
+ * @param <T> The recipe class
+ */
+public class RecipeIndex<T extends IRecipe<?>> {
+
+    private static final Map<RecipeManager, Map<IRecipeType<?>, RecipeIndex<?>>> INDEXES = new WeakHashMap<>();
+
+    private final Map<ResourceLocation, IRecipe<?>> source;
+    private final List<T> recipes;
+    private final Map<Item, IndexedRecipe<T>[]> byItem;
+    private final IndexedRecipe<T>[] fallback;
+
+    @SuppressWarnings("unchecked")
+    private RecipeIndex(Map<ResourceLocation, IRecipe<?>> source) {
+        this.source = source;
+        this.recipes = new ArrayList<>();
+        Map<Item, List<IndexedRecipe<T>>> byItem = new IdentityHashMap<>();
+        List<IndexedRecipe<T>> fallback = new ArrayList<>();
+        for (IRecipe<?> iRecipe : source.values()) {
+            T recipe = (T) iRecipe;
+            IndexedRecipe<T> indexed = new IndexedRecipe<>(recipes.size(), recipe);
+            recipes.add(recipe);
+            Ingredient ingredient = recipe.getIngredients().isEmpty() ? null : recipe.getIngredients().get(0);
+            // Only vanilla ingredients are known to match on the item alone
+            if (ingredient == null || ingredient.getClass() != Ingredient.class) {
+                fallback.add(indexed);
+                continue;
+            }
+            ItemStack[] matchingStacks = ingredient.getMatchingStacks();
+            if (matchingStacks.length == 0) {
+                byItem.computeIfAbsent(ItemStack.EMPTY.getItem(), item -> new ArrayList<>()).add(indexed);
+            }
+            for (ItemStack matchingStack : matchingStacks) {
+                List<IndexedRecipe<T>> bucket = byItem.computeIfAbsent(matchingStack.getItem(), item -> new ArrayList<>());
+                if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != indexed) bucket.add(indexed);
+            }
+        }
+        this.byItem = new IdentityHashMap<>();
+        byItem.forEach((item, bucket) -> this.byItem.put(item, bucket.toArray(new IndexedRecipe[0])));
+        this.fallback = fallback.toArray(new IndexedRecipe[0]);
+    }
+
+    /**
+     * Gets the index of the recipes of a type in the recipe manager of the world, building it if the recipes changed.
+     *
+     * @param world      The world to get the recipe manager from
+     * @param recipeType The recipe type
+     * @return the recipe index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IRecipe<?>> RecipeIndex<T> get(World world, IRecipeType<T> recipeType) {
+        RecipeManager manager = world.getRecipeManager();
+        Map<ResourceLocation, IRecipe<?>> source = RecipeUtil.getRecipeMap(manager, recipeType);
+        synchronized (INDEXES) {
+            Map<IRecipeType<?>, RecipeIndex<?>> indexes = INDEXES.computeIfAbsent(manager, recipeManager -> new IdentityHashMap<>());
+            RecipeIndex<T> index = (RecipeIndex<T>) indexes.get(recipeType);
+            if (index == null || index.source != source) {
+                index = new RecipeIndex<>(source);
+                indexes.put(recipeType, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Forces all the indexes to be rebuilt the next time they are used, called when recipes or tags are synced.
+     */
+    public static void invalidateAll() {
+        synchronized (INDEXES) {
+            INDEXES.clear();
+        }
+    }
+
+    /**
+     * Gets the first recipe, in the recipe manager order, whose first ingredient matches the stack.
+     *
+     * @param stack The input stack
+     * @return the matching recipe or null if there isn't one
+     */
+    @Nullable
+    public T getFirstMatch(ItemStack stack) {
+        IndexedRecipe<T>[] bucket = byItem.get(stack.getItem());
+        // Recipes in a bucket match the item already, only the fallback recipes before it need to be tested
+        IndexedRecipe<T> match = bucket == null ? null : bucket[0];
+        for (IndexedRecipe<T> indexed : fallback) {
+            if (match != null && indexed.order > match.order) break;
+            if (!indexed.recipe.getIngredients().isEmpty() && indexed.recipe.getIngredients().get(0).test(stack)) {
+                return indexed.recipe;
+            }
+        }
+        return match == null ? null : match.recipe;
+    }
+
+    /**
+     * Gets the recipes whose first ingredient can match the stack, in the recipe manager order.
+     * Recipes with custom ingredients are included without being tested.
+     *
+     * @param stack The input stack
+     * @return the candidate recipes
+     */
+    public List<T> getCandidates(ItemStack stack) {
+        IndexedRecipe<T>[] bucket = byItem.get(stack.getItem());
+        if (bucket == null && fallback.length == 0) return Collections.emptyList();
+        List<T> candidates = new ArrayList<>();
+        int bucketIndex = 0;
+        int fallbackIndex = 0;
+        int bucketLength = bucket == null ? 0 : bucket.length;
+        while (bucketIndex < bucketLength || fallbackIndex < fallback.length) {
+            if (fallbackIndex >= fallback.length || (bucketIndex < bucketLength && bucket[bucketIndex].order < fallback[fallbackIndex].order)) {
+                candidates.add(bucket[bucketIndex++].recipe);
+            } else {
+                candidates.add(fallback[fallbackIndex++].recipe);
+            }
+        }
+        return candidates;
+    }
+
+    public Collection<T> getRecipes() {
+        return Collections.unmodifiableList(recipes);
+    }
+
+    private static class IndexedRecipe<T> {
+
+        private final int order;
+        private final T recipe;
+
+        private IndexedRecipe(int order, T recipe) {
+            this.order = order;
+            this.recipe = recipe;
+        }
+    }
+}
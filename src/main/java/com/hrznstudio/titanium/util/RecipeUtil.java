@@ -17,21 +17,41 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 
 import javax.annotation.Nullable;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 public class RecipeUtil {
 
-    public static <T extends IRecipe<?>> Collection<T> getRecipes(World world, IRecipeType<T> recipeType) {
-        Map<IRecipeType<?>, Map<ResourceLocation, IRecipe<?>>> recipes = ObfuscationReflectionHelper.getPrivateValue(RecipeManager.class, world.getRecipeManager(), "field_199522_d");
-        if (recipes != null) {
-            Map<ResourceLocation, IRecipe<?>> typedRecipes = recipes.get(recipeType);
-            if (typedRecipes != null) {
-                return (Collection<T>)typedRecipes.values();
+    private static final Field RECIPES = ObfuscationReflectionHelper.findField(RecipeManager.class, "field_199522_d");
+
+    /**
+     * Gets the recipes of a type stored in the recipe manager, the map is replaced by a new one every time the recipes are reloaded.
+     *
+     * @param manager    The recipe manager
+     * @param recipeType The recipe type
+     * @return the recipes of the type by id
+     */
+    public static Map<ResourceLocation, IRecipe<?>> getRecipeMap(RecipeManager manager, IRecipeType<?> recipeType) {
+        try {
+            Map<IRecipeType<?>, Map<ResourceLocation, IRecipe<?>>> recipes = (Map<IRecipeType<?>, Map<ResourceLocation, IRecipe<?>>>) RECIPES.get(manager);
+            if (recipes != null) {
+                Map<ResourceLocation, IRecipe<?>> typedRecipes = recipes.get(recipeType);
+                if (typedRecipes != null) {
+                    return typedRecipes;
+                }
             }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
         }
-        return new ArrayList<>();
+        return Collections.emptyMap();
+    }
+
+    public static <T extends IRecipe<?>> Collection<T> getRecipes(World world, IRecipeType<T> recipeType) {
+        Map<ResourceLocation, IRecipe<?>> typedRecipes = getRecipeMap(world.getRecipeManager(), recipeType);
+        return typedRecipes.isEmpty() ? new ArrayList<>() : (Collection<T>) typedRecipes.values();
     }
 
     public static Collection<FurnaceRecipe> getCookingRecipes(World world) {
@@ -40,7 +60,7 @@ public class RecipeUtil {
 
     @Nullable
     public static FurnaceRecipe getSmelingRecipeFor(World world, ItemStack stack) {
-        return getCookingRecipes(world).stream().filter(furnaceRecipe -> furnaceRecipe.getIngredients().get(0).test(stack)).findFirst().orElse(null);
+        return RecipeIndex.get(world, IRecipeType.SMELTING).getFirstMatch(stack);
     }
 
 }